@@ -0,0 +1,11 @@
+#!/bin/bash
+# Starts the broker and, once it is up, applies the dead-letter policies for the customer work queues.
+# The policies are idempotent, so restarting the container just sets them again.
+(
+  until rabbitmqctl await_startup > /dev/null 2>&1; do sleep 2; done
+  rabbitmqctl set_policy --apply-to queues customer-created-dead-letter '^customer\.created\.queue$' \
+    '{"dead-letter-exchange":"customer.dlx","dead-letter-routing-key":"customer.created.queue.retry"}'
+  rabbitmqctl set_policy --apply-to queues customer-deleted-dead-letter '^customer\.deleted\.queue$' \
+    '{"dead-letter-exchange":"customer.dlx","dead-letter-routing-key":"customer.deleted.queue.retry"}'
+) &
+exec docker-entrypoint.sh rabbitmq-server
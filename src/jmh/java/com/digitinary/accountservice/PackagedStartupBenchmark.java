@@ -0,0 +1,85 @@
+package com.digitinary.accountservice;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall-clock time of launching the application built by {@code mvn -Paot package} until its context is
+ * refreshed, per startup mode. The process exits at that point ({@code spring.context.exit=onRefresh}), so no
+ * database or broker is needed; connecting to them is not part of the measurement.
+ * <pre>
+ * mvn -Paot package -DskipTests
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="PackagedStartupBenchmark"
+ * </pre>
+ * The executable of {@code mvn -Pnative native:compile} is measured the same way when it has been built, with
+ * {@code -Djmh.args="PackagedStartupBenchmark -p mode=native"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PackagedStartupBenchmark {
+
+    private static final File APP_DIRECTORY = new File("target/app");
+    private static final File NATIVE_EXECUTABLE = new File("target/account-service");
+
+    @Param({"jit", "aot", "aot-cds"})
+    public String mode;
+
+    private List<String> command;
+
+    @Setup
+    public void setUp() {
+        command = new ArrayList<>();
+        if ("native".equals(mode)) {
+            if (!NATIVE_EXECUTABLE.canExecute()) {
+                throw new IllegalStateException("Build the executable first with: mvn -Pnative native:compile -DskipTests");
+            }
+            command.add(NATIVE_EXECUTABLE.getAbsolutePath());
+        } else {
+            if (!new File(APP_DIRECTORY, "account-service.jsa").isFile()) {
+                throw new IllegalStateException("Build the application first with: mvn -Paot package -DskipTests");
+            }
+            command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+            if (!"jit".equals(mode)) {
+                command.add("-Dspring.aot.enabled=true");
+            }
+            if ("aot-cds".equals(mode)) {
+                command.addAll(List.of("-XX:SharedArchiveFile=account-service.jsa", "-Xlog:cds=error"));
+            }
+        }
+        command.addAll(List.of(
+                "-Dspring.context.exit=onRefresh",
+                "-DDB_HOST=localhost", "-DDB_PORT=3306", "-DDB_SCHEMA=accountDB", "-DDB_USER=account", "-DDB_PASS=",
+                "-DMQ_HOST=localhost", "-DMQ_PORT=5672", "-DMQ_USER=guest", "-DMQ_PASS=guest"));
+        if (!"native".equals(mode)) {
+            command.addAll(List.of("-jar", "account-service-app.jar"));
+        }
+        command.addAll(List.of(
+                "--spring.profiles.active=prod",
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false",
+                "--logging.file.name="));
+    }
+
+    @Benchmark
+    public int startToRefreshed() throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command)
+                .directory(APP_DIRECTORY)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("Application exited with " + exitCode + ": " + String.join(" ", command));
+        }
+        return exitCode;
+    }
+}
@@ -0,0 +1,76 @@
+package com.digitinary.accountservice;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start of the application in a fresh JVM per sample, with and without lazy initialization: once to a
+ * started context and once up to the answer of the first request, which pays for whatever startup deferred.
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="StartupBenchmark"
+ * </pre>
+ * Runs against the embedded H2 database of the test profile with the listener containers stopped. AOT and
+ * class-data sharing need the packaged application and are measured by {@link PackagedStartupBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class StartupBenchmark {
+
+    @Param({"false", "true"})
+    public boolean lazy;
+
+    private ConfigurableApplicationContext context;
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext startup() {
+        context = start();
+        return context;
+    }
+
+    @Benchmark
+    public int startupToFirstRequest() throws IOException, InterruptedException {
+        context = start();
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/customers/1000000/accounts")).GET().build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(AccountServiceApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.main.lazy-initialization=" + lazy,
+                        "ACTIVE_PROFILE=test",
+                        "DB_USER=sa",
+                        "DB_PASS=",
+                        "MQ_HOST=localhost",
+                        "MQ_PORT=5672",
+                        "MQ_USER=guest",
+                        "MQ_PASS=guest",
+                        "spring.rabbitmq.listener.simple.auto-startup=false",
+                        "events.outbox.relay.enabled=false",
+                        "logging.file.name=",
+                        "logging.level.root=WARN")
+                .run();
+    }
+}
@@ -0,0 +1,95 @@
+package com.digitinary.accountservice.controller;
+
+import com.digitinary.accountservice.AccountServiceApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives the HTTP API with many concurrent clients, once per thread mode. Compare the throughput scores and
+ * the p0.99 lines of the sample-time results:
+ * <pre>
+ * mvn -Pjmh,java21 test-compile exec:exec -Djmh.args="AccountLoadBenchmark"
+ * </pre>
+ * The virtual mode only differs from the platform mode on a Java 21 runtime. Against the embedded H2 database
+ * there is no network latency to hide, so point {@code spring.datasource.*} at MySQL (via {@code -jvmArgs})
+ * for numbers that reflect production I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(256)
+@Fork(1)
+public class AccountLoadBenchmark {
+
+    private static final long FIRST_CUSTOMER_ID = 1_000_000L;
+
+    @Param({"platform", "virtual"})
+    public String threadMode;
+
+    private final AtomicLong nextCustomerId = new AtomicLong(FIRST_CUSTOMER_ID);
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    @Setup
+    public void setUp() {
+        String[] profiles = "virtual".equals(threadMode) ? new String[]{"test", "virtual"} : new String[]{"test"};
+        context = new SpringApplicationBuilder(AccountServiceApplication.class)
+                .profiles(profiles)
+                .properties(
+                        "server.port=0",
+                        "ACTIVE_PROFILE=test",
+                        "DB_USER=sa",
+                        "DB_PASS=",
+                        "MQ_HOST=localhost",
+                        "MQ_PORT=5672",
+                        "MQ_USER=guest",
+                        "MQ_PASS=guest",
+                        "spring.rabbitmq.listener.simple.auto-startup=false",
+                        "logging.file.name=",
+                        "logging.level.root=WARN")
+                .run();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int createAndGetAccount() throws IOException, InterruptedException {
+        long customerId = nextCustomerId.getAndIncrement();
+        long accountId = customerId * 1000 + 100;
+        String body = "{\"id\":" + accountId + ",\"customerId\":" + customerId
+                + ",\"balance\":0.0,\"status\":\"ACTIVE\",\"type\":\"SAVINGS\"}";
+        HttpRequest create = HttpRequest.newBuilder(URI.create(baseUrl + "/accounts"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        httpClient.send(create, HttpResponse.BodyHandlers.discarding());
+
+        HttpRequest get = HttpRequest.newBuilder(URI.create(baseUrl + "/accounts/" + accountId)).GET().build();
+        return httpClient.send(get, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int listAccounts() throws IOException, InterruptedException {
+        HttpRequest list = HttpRequest.newBuilder(URI.create(baseUrl + "/accounts?size=20")).GET().build();
+        return httpClient.send(list, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
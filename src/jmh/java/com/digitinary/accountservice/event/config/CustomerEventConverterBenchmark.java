@@ -0,0 +1,48 @@
+package com.digitinary.accountservice.event.config;
+
+import com.digitinary.accountservice.event.model.CustomerEvent;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of a customer event in JSON and in the binary format, through the same
+ * content-type delegating converter the listeners use. Payload sizes are in
+ * {@code CustomerEventBinaryConverterTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerEventConverterBenchmark {
+
+    @Param({"application/json", CustomerEventBinaryConverter.CONTENT_TYPE})
+    public String contentType;
+
+    private final MessageConverter converter = new RabbitMQConfig().messageConverter();
+    private final CustomerEvent event = new CustomerEvent(1234567L, "John Doe", "123456789", "Individual", "123 Main St");
+
+    private Message message;
+
+    @Setup
+    public void setUp() {
+        message = encode();
+    }
+
+    @Benchmark
+    public Message encode() {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(contentType);
+        return converter.toMessage(event, properties);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return converter.fromMessage(message);
+    }
+}
@@ -0,0 +1,143 @@
+package com.digitinary.accountservice.event.handler;
+
+import com.digitinary.accountservice.AccountServiceApplication;
+import com.digitinary.accountservice.event.model.CustomerEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.qpid.server.SystemLauncher;
+import org.apache.qpid.server.model.SystemConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Messages per second drained from the customer-created queue by the per-event listener as the number of
+ * consumers grows. Each invocation publishes {@link #MESSAGES_PER_INVOCATION} events and returns once the
+ * listener has handled all of them. An embedded Qpid Broker-J speaks AMQP 0-9-1 in place of RabbitMQ, so
+ * absolute numbers differ from a real broker; the scaling across {@code consumers} is what to look at.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(CustomerEventListenerBenchmark.MESSAGES_PER_INVOCATION)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CustomerEventListenerBenchmark {
+
+    static final int MESSAGES_PER_INVOCATION = 1_000;
+
+    private static final String BROKER_CONFIG = """
+            {
+              "name": "benchmark",
+              "modelVersion": "9.0",
+              "authenticationproviders": [{
+                "name": "plain",
+                "type": "Plain",
+                "secureOnlyMechanisms": [],
+                "users": [{"name": "guest", "password": "guest", "type": "managed"}]
+              }],
+              "ports": [{
+                "name": "AMQP",
+                "port": "${qpid.amqp_port}",
+                "authenticationProvider": "plain",
+                "virtualhostaliases": [{"name": "defaultAlias", "type": "defaultAlias"}]
+              }],
+              "virtualhostnodes": [{
+                "name": "default",
+                "type": "Memory",
+                "defaultVirtualHostNode": "true",
+                "virtualHostInitialConfiguration": "{\\"type\\": \\"Memory\\"}"
+              }]
+            }
+            """;
+
+    @Param({"1", "2", "4", "8"})
+    public int consumers;
+
+    private final AtomicLong nextCustomerId = new AtomicLong(1_000_000L);
+
+    private SystemLauncher broker;
+    private Path brokerConfig;
+    private ConfigurableApplicationContext context;
+    private RabbitTemplate rabbitTemplate;
+    private MeterRegistry meterRegistry;
+    private String queueName;
+
+    @Setup
+    public void setUp() throws Exception {
+        int port = freePort();
+        brokerConfig = Files.createTempFile("qpid-broker", ".json");
+        Files.writeString(brokerConfig, BROKER_CONFIG);
+        broker = new SystemLauncher();
+        broker.startup(Map.of(
+                SystemConfig.TYPE, "Memory",
+                SystemConfig.INITIAL_CONFIGURATION_LOCATION, brokerConfig.toUri().toString(),
+                SystemConfig.STARTUP_LOGGED_TO_SYSTEM_OUT, false,
+                // Broker-J has no x-dead-letter-* support; the benchmark only exercises the happy path
+                SystemConfig.CONTEXT, Map.of(
+                        "qpid.amqp_port", String.valueOf(port),
+                        "queue.behaviourOnUnknownDeclareArgument", "IGNORE")));
+
+        context = new SpringApplicationBuilder(AccountServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "ACTIVE_PROFILE=test",
+                        "DB_USER=sa",
+                        "DB_PASS=",
+                        "MQ_HOST=localhost",
+                        "MQ_PORT=" + port,
+                        "MQ_USER=guest",
+                        "MQ_PASS=guest",
+                        "rabbitmq.listener.created.concurrency=" + consumers,
+                        "logging.file.name=",
+                        "logging.level.root=WARN")
+                .run();
+        rabbitTemplate = context.getBean(RabbitTemplate.class);
+        queueName = context.getEnvironment().getRequiredProperty("rabbitmq.queues.created");
+        meterRegistry = context.getBean(MeterRegistry.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        broker.shutdown();
+        Files.deleteIfExists(brokerConfig);
+    }
+
+    @Benchmark
+    public void drainCreatedEvents() throws InterruptedException {
+        long target = handledEvents() + MESSAGES_PER_INVOCATION;
+        for (int i = 0; i < MESSAGES_PER_INVOCATION; i++) {
+            long customerId = nextCustomerId.getAndIncrement();
+            rabbitTemplate.convertAndSend(queueName,
+                    new CustomerEvent(customerId, "John Doe", "123456789", "Individual", "123 Main St"));
+        }
+        while (handledEvents() < target) {
+            Thread.sleep(1);
+        }
+    }
+
+    // the listener timer is registered on the first handled event
+    private long handledEvents() {
+        Timer timer = meterRegistry.find("customer.events").tag("method", "handleCustomerCreated").timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.digitinary.accountservice.model.mapper;
+
+import com.digitinary.accountservice.entity.Account;
+import com.digitinary.accountservice.model.AccountType;
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountMapperBenchmark {
+
+    private Account account;
+    private AccountDTO accountDTO;
+
+    @Setup
+    public void setUp() {
+        account = new Account(1234567890L, 1234567L, 100000L, "ACTIVE", AccountType.SAVINGS);
+        accountDTO = new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS");
+    }
+
+    @Benchmark
+    public AccountDTO toDTO() {
+        return AccountMapper.toDTO(account);
+    }
+
+    @Benchmark
+    public Account toEntity() {
+        return AccountMapper.toEntity(accountDTO);
+    }
+}
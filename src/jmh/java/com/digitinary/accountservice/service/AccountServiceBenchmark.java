@@ -0,0 +1,76 @@
+package com.digitinary.accountservice.service;
+
+import com.digitinary.accountservice.AccountServiceApplication;
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Full create/get flows through the service against the embedded H2 database of the test profile. Listener
+ * containers are not started, so no broker is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountServiceBenchmark {
+
+    private static final long FIRST_CUSTOMER_ID = 1_000_000L;
+    private static final int PRELOADED_ACCOUNTS = 1_000;
+
+    private final AtomicLong nextCustomerId = new AtomicLong(FIRST_CUSTOMER_ID);
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(AccountServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "ACTIVE_PROFILE=test",
+                        "DB_USER=sa",
+                        "DB_PASS=",
+                        "MQ_HOST=localhost",
+                        "MQ_PORT=5672",
+                        "MQ_USER=guest",
+                        "MQ_PASS=guest",
+                        "spring.rabbitmq.listener.simple.auto-startup=false",
+                        "events.outbox.relay.enabled=false",
+                        "logging.file.name=",
+                        "logging.level.root=WARN")
+                .run();
+        accountService = context.getBean(AccountService.class);
+        for (int i = 0; i < PRELOADED_ACCOUNTS; i++) {
+            createAccount();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AccountDTO createAccount() {
+        // one account per customer keeps every call clear of the per-customer account limit
+        long customerId = nextCustomerId.getAndIncrement();
+        return accountService.createAccount(new AccountDTO(customerId * 1000 + 100, customerId, new BigDecimal("0.00"), "ACTIVE", "SAVINGS"));
+    }
+
+    @Benchmark
+    public AccountDTO getAccountById() {
+        long customerId = FIRST_CUSTOMER_ID + ThreadLocalRandom.current().nextInt(PRELOADED_ACCOUNTS);
+        return accountService.getAccountById(customerId * 1000 + 100);
+    }
+}
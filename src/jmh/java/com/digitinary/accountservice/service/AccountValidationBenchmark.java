@@ -0,0 +1,40 @@
+package com.digitinary.accountservice.service;
+
+import com.digitinary.accountservice.model.AccountValidationError;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-path validation, including the rejected-input cases that used to pay for an exception.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountValidationBenchmark {
+
+    private final AccountValidator accountValidator = new AccountValidator();
+
+    @Benchmark
+    public AccountValidationError validateAccountId() {
+        return accountValidator.validateAccountId(1234567890L, 1234567L);
+    }
+
+    @Benchmark
+    public AccountValidationError validateAccountId_mismatch() {
+        return accountValidator.validateAccountId(1234567890L, 7654321L);
+    }
+
+    @Benchmark
+    public AccountValidationError validateAccountType_valid() {
+        return accountValidator.validateAccountType("SAVINGS");
+    }
+
+    @Benchmark
+    public AccountValidationError validateAccountType_invalid() {
+        return accountValidator.validateAccountType("CHECKING");
+    }
+}
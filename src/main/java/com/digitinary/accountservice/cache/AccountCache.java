@@ -0,0 +1,251 @@
+package com.digitinary.accountservice.cache;
+
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import com.digitinary.accountservice.model.dto.CacheStatsDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Size- and TTL-bounded read-through caches of accounts by id and of the account lists of customers.
+ * Evictions are applied immediately and again after the surrounding transaction commits, so a read that
+ * raced with the write cannot leave the pre-commit row cached. With a read replica, a read can still return
+ * the old row after the commit, so evictions are repeated once more when the replica lag has passed.
+ * Concurrent misses for the same key share one load through a {@link SingleFlight}. Evictions also bump a
+ * striped generation counter, and a load whose key's generation moved while it ran does not stay cached, so a
+ * load that read the row before a write committed cannot re-cache it after that write's eviction. The ids of the cached
+ * accounts are indexed by customer, so evicting a customer touches only that customer's entries.
+ */
+@Component
+public class AccountCache implements MeterBinder {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<Long, AccountDTO> accounts;
+    private final Cache<Long, List<AccountDTO>> customerAccounts;
+    private final ConcurrentMap<Long, Set<Long>> accountIdsByCustomer = new ConcurrentHashMap<>();
+    private final SingleFlight<Long, AccountDTO> accountLoads = new SingleFlight<>();
+    private final SingleFlight<Long, List<AccountDTO>> customerAccountLoads = new SingleFlight<>();
+    private final AtomicLongArray accountGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLongArray customerGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    // an account load cannot know its customer up front, so customer evictions invalidate all of them
+    private final AtomicLong customerEvictions = new AtomicLong();
+    private final Duration replicaLag;
+
+    public AccountCache(@Value("${accounts.cache.maximum-size:10000}") long maximumSize,
+                        @Value("${accounts.cache.expire-after-write:60s}") Duration expireAfterWrite,
+                        @Value("${accounts.cache.replica-lag:0s}") Duration replicaLag) {
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .removalListener((Long id, AccountDTO account, RemovalCause cause) -> unindex(id, account))
+                .build();
+        this.customerAccounts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.replicaLag = replicaLag;
+    }
+
+    public AccountDTO get(Long id) {
+        return accounts.getIfPresent(id);
+    }
+
+    // package-private for tests: callers outside go through the guarded loads
+    void put(AccountDTO account) {
+        // cache first, index second: see unindex
+        accounts.put(account.getId(), account);
+        accountIdsByCustomer.compute(account.getCustomerId(), (customerId, ids) -> {
+            Set<Long> indexed = ids != null ? ids : ConcurrentHashMap.<Long>newKeySet();
+            indexed.add(account.getId());
+            return indexed;
+        });
+    }
+
+    /**
+     * Returns the cached account or loads and caches it, running the loader once for all concurrent misses.
+     * Exceptions thrown by the loader reach every waiting caller and nothing is cached, and neither is a
+     * result whose id or customer was evicted while it loaded.
+     */
+    public AccountDTO getOrLoad(Long id, Supplier<AccountDTO> loader) {
+        AccountDTO cached = accounts.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        return accountLoads.load(id, () -> {
+            long generation = accountGenerations.get(stripe(id));
+            long customerEvictionCount = customerEvictions.get();
+            AccountDTO account = loader.get();
+            putUnlessEvicted(id, account, generation, customerEvictionCount);
+            return account;
+        });
+    }
+
+    /**
+     * Non-blocking variant of {@link #getOrLoad} for the reactive read path. The generations are recorded when
+     * the returned {@link Mono} is subscribed, before the query runs, and the loaded account is not kept if its
+     * id or customer was evicted until it arrived. Concurrent misses are not coalesced.
+     */
+    public Mono<AccountDTO> getOrLoadAsync(Long id, Supplier<Mono<AccountDTO>> loader) {
+        return Mono.defer(() -> {
+            AccountDTO cached = accounts.getIfPresent(id);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long generation = accountGenerations.get(stripe(id));
+            long customerEvictionCount = customerEvictions.get();
+            return loader.get().doOnNext(account -> putUnlessEvicted(id, account, generation, customerEvictionCount));
+        });
+    }
+
+    List<AccountDTO> getCustomerAccounts(Long customerId) {
+        return customerAccounts.getIfPresent(customerId);
+    }
+
+    public List<AccountDTO> getOrLoadCustomerAccounts(Long customerId, Supplier<List<AccountDTO>> loader) {
+        List<AccountDTO> cached = customerAccounts.getIfPresent(customerId);
+        if (cached != null) {
+            return cached;
+        }
+        return customerAccountLoads.load(customerId, () -> {
+            long generation = customerGenerations.get(stripe(customerId));
+            List<AccountDTO> loaded = List.copyOf(loader.get());
+            customerAccounts.put(customerId, loaded);
+            if (customerGenerations.get(stripe(customerId)) != generation) {
+                customerAccounts.invalidate(customerId);
+            }
+            return loaded;
+        });
+    }
+
+    /**
+     * Evicts the account and the account list of its customer.
+     */
+    public void evict(Long id, Long customerId) {
+        Runnable eviction = () -> {
+            accountGenerations.incrementAndGet(stripe(id));
+            customerGenerations.incrementAndGet(stripe(customerId));
+            accountLoads.forget(id);
+            customerAccountLoads.forget(customerId);
+            accounts.invalidate(id);
+            customerAccounts.invalidate(customerId);
+        };
+        evictNowAndLater(eviction);
+    }
+
+    public void evictCustomer(Long customerId) {
+        evictCustomers(Set.of(customerId));
+    }
+
+    public void evictCustomers(Collection<Long> customerIds) {
+        Set<Long> customers = Set.copyOf(customerIds);
+        Runnable eviction = () -> {
+            customers.forEach(customerId -> customerGenerations.incrementAndGet(stripe(customerId)));
+            customerEvictions.incrementAndGet();
+            customers.forEach(customerAccountLoads::forget);
+            for (Long customerId : customers) {
+                Set<Long> ids = accountIdsByCustomer.get(customerId);
+                if (ids != null) {
+                    accounts.invalidateAll(Set.copyOf(ids));
+                }
+            }
+            customerAccounts.invalidateAll(customers);
+        };
+        evictNowAndLater(eviction);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, accounts, "accounts");
+        CaffeineCacheMetrics.monitor(registry, customerAccounts, "customer-accounts");
+        accountLoads.bindTo(registry, "accounts");
+        customerAccountLoads.bindTo(registry, "customer-accounts");
+    }
+
+    public CacheStatsDTO stats() {
+        return stats(accounts);
+    }
+
+    public CacheStatsDTO customerAccountStats() {
+        return stats(customerAccounts);
+    }
+
+    private static CacheStatsDTO stats(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheStatsDTO(stats.hitCount(), stats.missCount(), stats.evictionCount(), stats.hitRate(),
+                cache.estimatedSize());
+    }
+
+    private void putUnlessEvicted(Long id, AccountDTO account, long generation, long customerEvictionCount) {
+        put(account);
+        // re-checked after the put: an eviction either saw the entry or bumped a counter checked here
+        if (accountGenerations.get(stripe(id)) != generation || customerEvictions.get() != customerEvictionCount) {
+            accounts.invalidate(id);
+        }
+    }
+
+    private static int stripe(Long key) {
+        return Long.hashCode(key) & (GENERATION_STRIPES - 1);
+    }
+
+    /**
+     * Drops a removed account from the customer index unless it was cached again meanwhile. Removal listeners
+     * run asynchronously, but {@link #put} caches before it indexes, so an id that is not in the cache here is
+     * either gone for good or about to be re-indexed.
+     */
+    private void unindex(Long id, AccountDTO account) {
+        if (id == null || account == null) {
+            return;
+        }
+        accountIdsByCustomer.computeIfPresent(account.getCustomerId(), (customerId, ids) -> {
+            if (!accounts.asMap().containsKey(id)) {
+                ids.remove(id);
+            }
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private void evictNowAndLater(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                    evictAfterReplicaLag(eviction);
+                }
+            });
+        } else {
+            evictAfterReplicaLag(eviction);
+        }
+    }
+
+    private void evictAfterReplicaLag(Runnable eviction) {
+        if (!replicaLag.isZero() && !replicaLag.isNegative()) {
+            CompletableFuture.delayedExecutor(replicaLag.toMillis(), TimeUnit.MILLISECONDS).execute(eviction);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.digitinary.accountservice.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader and every caller that arrives
+ * while it is in flight waits for and shares its result or exception. Nothing is kept once the load finishes.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            shared.increment();
+            return await(existing);
+        }
+        executed.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Makes later callers start a fresh load instead of joining one that may have read data older than a
+     * write that just happened. Callers already waiting still get the running load's result.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public long executedCount() {
+        return executed.sum();
+    }
+
+    public long sharedCount() {
+        return shared.sum();
+    }
+
+    /**
+     * Share of loads answered by joining another caller's in-flight load.
+     */
+    public double dedupRatio() {
+        long sharedCount = sharedCount();
+        long total = executedCount() + sharedCount;
+        return total == 0 ? 0 : (double) sharedCount / total;
+    }
+
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder("cache.single.flight.loads", this, SingleFlight::executedCount)
+                .description("Loads run against the database")
+                .tags("cache", name, "result", "executed")
+                .register(registry);
+        FunctionCounter.builder("cache.single.flight.loads", this, SingleFlight::sharedCount)
+                .description("Loads answered by joining an identical in-flight load")
+                .tags("cache", name, "result", "shared")
+                .register(registry);
+        Gauge.builder("cache.single.flight.dedup.ratio", this, SingleFlight::dedupRatio)
+                .description("Share of loads answered by joining an identical in-flight load")
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
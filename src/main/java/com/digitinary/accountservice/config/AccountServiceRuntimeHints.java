@@ -0,0 +1,49 @@
+package com.digitinary.accountservice.config;
+
+import com.digitinary.accountservice.entity.Account;
+import com.digitinary.accountservice.entity.AccountReadModel;
+import com.digitinary.accountservice.entity.CustomerAccountSummary;
+import com.digitinary.accountservice.entity.OutboxEvent;
+import com.digitinary.accountservice.entity.ProcessedEvent;
+import com.digitinary.accountservice.event.model.AccountEvent;
+import com.digitinary.accountservice.event.model.CustomerEvent;
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import com.digitinary.accountservice.model.dto.AccountPageDTO;
+import com.digitinary.accountservice.model.dto.AmountDTO;
+import com.digitinary.accountservice.model.dto.BatchItemResultDTO;
+import com.digitinary.accountservice.model.dto.CacheStatsDTO;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reflection metadata the native image needs beyond what Spring's AOT processing infers from the
+ * bean definitions. The Lombok-generated accessors of the DTOs and events are only reached through Jackson:
+ * {@link CustomerEvent} by the JSON converter of the listeners, {@link AccountEvent} by the outbox and the DTOs
+ * by the controllers and the NDJSON stream. Hibernate instantiates the entities and the {@code select new}
+ * constructor of {@link AccountDTO} reflectively. The proxies behind the repository projections are registered
+ * by Spring Data's own AOT processing.
+ */
+public class AccountServiceRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final List<Class<?>> JSON_TYPES = List.of(
+            CustomerEvent.class, AccountEvent.class, AccountDTO.class, AccountPageDTO.class, AmountDTO.class,
+            BatchItemResultDTO.class, CacheStatsDTO.class);
+
+    static final List<Class<?>> ENTITY_TYPES = List.of(
+            Account.class, AccountReadModel.class, CustomerAccountSummary.class, OutboxEvent.class,
+            ProcessedEvent.class, ProcessedEvent.Key.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), JSON_TYPES.toArray(Class[]::new));
+        hints.reflection().registerType(AccountDTO.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        for (Class<?> type : ENTITY_TYPES) {
+            hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.digitinary.accountservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * JPA and R2DBC run side by side. Boot skips its JDBC DataSource auto-configuration once an R2DBC
+ * ConnectionFactory exists, so the Hikari pool is declared here from the usual {@code spring.datasource.*}
+ * properties. The JPA transaction manager is primary so blocking {@code @Transactional} methods never
+ * resolve the reactive one.
+ * <p>
+ * Setting {@code spring.datasource.replica.jdbc-url} adds a second pool for a read replica; read-only
+ * transactions are then routed to it, see {@link ReadWriteRoutingDataSource} and {@link ReadYourWritesFilter}.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class PersistenceConfig {
+
+    private static final String REPLICA_URL = "spring.datasource.replica.jdbc-url";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(REPLICA_URL)
+    @ConfigurationProperties("spring.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(REPLICA_URL)
+    public DataSource routingDataSource(@Qualifier("dataSource") DataSource dataSource,
+                                        @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        return ReadWriteRoutingDataSource.of(dataSource, replicaDataSource);
+    }
+
+    @Bean
+    @ConditionalOnProperty(REPLICA_URL)
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${accounts.datasource.read-your-writes-window:5s}") Duration window) {
+        return new ReadYourWritesFilter(window, Clock.systemUTC());
+    }
+
+    @Bean
+    @Primary
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+}
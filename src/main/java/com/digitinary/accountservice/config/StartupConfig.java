@@ -0,0 +1,26 @@
+package com.digitinary.accountservice.config;
+
+import com.digitinary.accountservice.event.handler.CustomerEventBatchHandler;
+import com.digitinary.accountservice.event.handler.CustomerEventHandler;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Beans that must be created at startup even with {@code spring.main.lazy-initialization}. Listener methods
+ * are only registered when their bean is created, so a lazy handler would never consume; it also pulls the
+ * service, repositories and JPA in eagerly, so the first request does not pay for them. Scheduled beans are
+ * already excluded by Boot, while springdoc, the controllers and the reactive stack stay lazy.
+ * <p>
+ * The native image built with {@code mvn -Pnative native:compile} also needs {@link AccountServiceRuntimeHints}.
+ */
+@Configuration
+@ImportRuntimeHints(AccountServiceRuntimeHints.class)
+public class StartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eventHandlerLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(CustomerEventHandler.class, CustomerEventBatchHandler.class);
+    }
+}
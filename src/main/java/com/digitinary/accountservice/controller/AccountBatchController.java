@@ -0,0 +1,36 @@
+package com.digitinary.accountservice.controller;
+
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import com.digitinary.accountservice.model.dto.BatchItemResultDTO;
+import com.digitinary.accountservice.service.AccountService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+public class AccountBatchController {
+
+    private final AccountService accountService;
+
+    public AccountBatchController(AccountService accountService) {
+        this.accountService = accountService;
+    }
+
+    @PostMapping("/accounts:batch")
+    public ResponseEntity<List<BatchItemResultDTO>> createAccounts(@RequestBody List<AccountDTO> accounts) {
+        log.debug("batch create request with {} accounts", accounts.size());
+        return ResponseEntity.ok(accountService.createAccounts(accounts));
+    }
+
+    @PutMapping("/accounts:batch")
+    public ResponseEntity<List<BatchItemResultDTO>> updateAccounts(@RequestBody List<AccountDTO> accounts) {
+        log.debug("batch update request with {} accounts", accounts.size());
+        return ResponseEntity.ok(accountService.updateAccounts(accounts));
+    }
+}
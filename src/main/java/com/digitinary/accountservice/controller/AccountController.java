@@ -1,22 +1,34 @@
 package com.digitinary.accountservice.controller;
 
+import com.digitinary.accountservice.model.AccountETag;
 import com.digitinary.accountservice.model.dto.AccountDTO;
+import com.digitinary.accountservice.model.dto.AccountPageDTO;
+import com.digitinary.accountservice.model.dto.AmountDTO;
 import com.digitinary.accountservice.service.AccountService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 @Slf4j
 @RestController
 @RequestMapping("/accounts")
 public class AccountController {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final AccountService accountService;
+    private final ObjectMapper objectMapper;
 
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService, ObjectMapper objectMapper) {
         this.accountService = accountService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -25,16 +37,44 @@ public class AccountController {
         return ResponseEntity.ok(accountService.createAccount(account));
     }
 
+    /**
+     * Answers {@code If-None-Match} with 304 when the tag still matches. Cached accounts are compared without
+     * a query, and a 304 is never serialized.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<AccountDTO> getAccountById(@PathVariable Long id) {
+    public ResponseEntity<AccountDTO> getAccountById(@PathVariable Long id, WebRequest request) {
         log.debug("get account request with id {}", id);
-        return ResponseEntity.ok(accountService.getAccountById(id));
+        AccountDTO account = accountService.getAccountById(id);
+        if (request.checkNotModified(AccountETag.of(account))) {
+            return null;
+        }
+        return ResponseEntity.ok(account);
     }
 
     @GetMapping
-    public List<AccountDTO> getAllAccounts() {
-        log.debug("get all account request");
-        return accountService.getAllAccounts();
+    public ResponseEntity<AccountPageDTO> getAccounts(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "" + AccountService.DEFAULT_PAGE_SIZE) int size,
+                                                      WebRequest request) {
+        log.debug("get accounts page request with cursor {} and size {}", cursor, size);
+        AccountPageDTO page = accountService.getAccounts(cursor, size);
+        if (request.checkNotModified(AccountETag.of(page))) {
+            return null;
+        }
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllAccounts() {
+        log.debug("stream all accounts request");
+        StreamingResponseBody body = out -> accountService.streamAllAccounts(account -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(account));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
     }
 
     @PutMapping("/{id}")
@@ -43,6 +83,27 @@ public class AccountController {
         return ResponseEntity.ok(accountService.updateAccount(id, account));
     }
 
+    /**
+     * Adds the amount to the balance and returns the account as it is afterwards.
+     */
+    @PostMapping("/{id}/credit")
+    public ResponseEntity<AccountDTO> credit(@PathVariable Long id, @RequestBody AmountDTO request) {
+        log.debug("credit request for account id {}", id);
+        accountService.credit(id, request.getAmount());
+        return ResponseEntity.ok(accountService.getAccountById(id));
+    }
+
+    /**
+     * Takes the amount from the balance and returns the account as it is afterwards; 422 if the balance
+     * would go below zero.
+     */
+    @PostMapping("/{id}/debit")
+    public ResponseEntity<AccountDTO> debit(@PathVariable Long id, @RequestBody AmountDTO request) {
+        log.debug("debit request for account id {}", id);
+        accountService.debit(id, request.getAmount());
+        return ResponseEntity.ok(accountService.getAccountById(id));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAccount(@PathVariable Long id) {
         log.debug("delete account request with id {}", id);
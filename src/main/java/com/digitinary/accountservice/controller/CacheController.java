@@ -0,0 +1,32 @@
+package com.digitinary.accountservice.controller;
+
+import com.digitinary.accountservice.cache.AccountCache;
+import com.digitinary.accountservice.model.dto.CacheStatsDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/cache")
+public class CacheController {
+
+    private final AccountCache accountCache;
+
+    public CacheController(AccountCache accountCache) {
+        this.accountCache = accountCache;
+    }
+
+    @GetMapping("/accounts")
+    public CacheStatsDTO getAccountCacheStats() {
+        log.debug("get account cache stats request");
+        return accountCache.stats();
+    }
+
+    @GetMapping("/customer-accounts")
+    public CacheStatsDTO getCustomerAccountCacheStats() {
+        log.debug("get customer account cache stats request");
+        return accountCache.customerAccountStats();
+    }
+}
@@ -0,0 +1,36 @@
+package com.digitinary.accountservice.controller;
+
+import com.digitinary.accountservice.model.AccountETag;
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import com.digitinary.accountservice.service.AccountService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/customers/{customerId}/accounts")
+public class CustomerAccountController {
+
+    private final AccountService accountService;
+
+    public CustomerAccountController(AccountService accountService) {
+        this.accountService = accountService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<AccountDTO>> getAccountsByCustomerId(@PathVariable Long customerId, WebRequest request) {
+        log.debug("get accounts request for customer id {}", customerId);
+        List<AccountDTO> accounts = accountService.getAccountsByCustomerId(customerId);
+        if (request.checkNotModified(AccountETag.of(accounts))) {
+            return null;
+        }
+        return ResponseEntity.ok(accounts);
+    }
+}
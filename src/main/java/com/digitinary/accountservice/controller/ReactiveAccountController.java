@@ -0,0 +1,52 @@
+package com.digitinary.accountservice.controller;
+
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import com.digitinary.accountservice.model.dto.AccountPageDTO;
+import com.digitinary.accountservice.service.AccountService;
+import com.digitinary.accountservice.service.ReactiveAccountService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only account API backed by R2DBC. Requests are released from the servlet thread while the query runs
+ * and the results are written as they arrive.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/reactive")
+public class ReactiveAccountController {
+
+    private final ReactiveAccountService reactiveAccountService;
+
+    public ReactiveAccountController(ReactiveAccountService reactiveAccountService) {
+        this.reactiveAccountService = reactiveAccountService;
+    }
+
+    @GetMapping("/accounts/{id}")
+    public Mono<AccountDTO> getAccountById(@PathVariable Long id) {
+        log.debug("reactive get account request with id {}", id);
+        return reactiveAccountService.getAccountById(id);
+    }
+
+    @GetMapping("/accounts")
+    public Mono<AccountPageDTO> getAccounts(@RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "" + AccountService.DEFAULT_PAGE_SIZE) int size) {
+        log.debug("reactive get accounts page request with cursor {} and size {}", cursor, size);
+        return reactiveAccountService.getAccounts(cursor, size);
+    }
+
+    @GetMapping(value = "/accounts/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AccountDTO> streamAllAccounts() {
+        log.debug("reactive stream all accounts request");
+        return reactiveAccountService.streamAllAccounts();
+    }
+
+    @GetMapping("/customers/{customerId}/accounts")
+    public Flux<AccountDTO> getAccountsByCustomerId(@PathVariable Long customerId) {
+        log.debug("reactive get accounts request for customer id {}", customerId);
+        return reactiveAccountService.getAccountsByCustomerId(customerId);
+    }
+}
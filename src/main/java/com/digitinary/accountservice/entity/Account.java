@@ -1,10 +1,14 @@
 package com.digitinary.accountservice.entity;
 
 import com.digitinary.accountservice.model.AccountType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,12 +17,31 @@ import lombok.NoArgsConstructor;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_account_customer_id", columnList = "customerId, id"),
+        @Index(name = "idx_account_customer_id_type", columnList = "customerId, type")
+})
 public class Account {
     @Id
     private Long id;
     private Long customerId;
-    private Double balance;
+    /**
+     * Balance in minor units (hundredths), so sums are exact and the column can be adjusted in SQL.
+     */
+    private long balanceMinor;
     private String status;
     @Enumerated(EnumType.STRING)
     private AccountType type;
+    /**
+     * Optimistic-lock version. A {@code null} version is how Spring Data tells a new account from an
+     * existing one despite the assigned id, so {@code save()} persists new accounts with a single INSERT
+     * instead of merging them with a SELECT first. Stored rows always have one: the column is not null.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    public Account(Long id, Long customerId, long balanceMinor, String status, AccountType type) {
+        this(id, customerId, balanceMinor, status, type, null);
+    }
 }
@@ -0,0 +1,29 @@
+package com.digitinary.accountservice.entity;
+
+import com.digitinary.accountservice.model.AccountType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC mapping of the {@code account} table owned by {@link Account}. It is a separate class because Spring
+ * Data assigns repositories of {@code @Entity} types to JPA; only the reactive read path uses it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table("account")
+public class AccountReadModel {
+    @Id
+    private Long id;
+    private Long customerId;
+    private long balanceMinor;
+    private String status;
+    private AccountType type;
+    /**
+     * Read as-is for the ETag and the shared cache; not {@code @Version}, since nothing is written through here.
+     */
+    private Long version;
+}
@@ -0,0 +1,18 @@
+package com.digitinary.accountservice.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CustomerAccountSummary {
+    @Id
+    private Long customerId;
+    private int accountCount;
+    private boolean salaryAccount;
+}
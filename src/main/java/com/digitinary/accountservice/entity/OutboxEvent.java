@@ -0,0 +1,45 @@
+package com.digitinary.accountservice.entity;
+
+import com.digitinary.accountservice.event.model.AccountEventType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Account event waiting to be published, written in the same transaction as the change it describes and
+ * removed once the broker has confirmed it.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxEvent {
+    /**
+     * Pooled sequence ids, so outbox rows are inserted in JDBC batches along with the accounts; an identity
+     * column would force one INSERT per event. Ids also give the publishing order.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", allocationSize = 100)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    private AccountEventType eventType;
+    private Long accountId;
+    @Column(nullable = false, length = 1024)
+    private String payload;
+    private Instant createdAt;
+
+    public OutboxEvent(AccountEventType eventType, Long accountId, String payload, Instant createdAt) {
+        this(null, eventType, accountId, payload, createdAt);
+    }
+}
@@ -0,0 +1,45 @@
+package com.digitinary.accountservice.entity;
+
+import com.digitinary.accountservice.event.model.CustomerEventType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Record of a customer event that has been applied, keyed by customer id and event type.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@IdClass(ProcessedEvent.Key.class)
+@Table(indexes = @Index(name = "idx_processed_event_processed_at", columnList = "processedAt"))
+public class ProcessedEvent {
+    @Id
+    private Long customerId;
+    @Id
+    @Enumerated(EnumType.STRING)
+    private CustomerEventType type;
+    private Instant processedAt;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private Long customerId;
+        private CustomerEventType type;
+    }
+}
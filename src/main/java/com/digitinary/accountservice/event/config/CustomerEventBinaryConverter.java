@@ -0,0 +1,95 @@
+package com.digitinary.accountservice.event.config;
+
+import com.digitinary.accountservice.event.model.CustomerEvent;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary encoding of {@link CustomerEvent}, selected by the {@value #CONTENT_TYPE} content type.
+ * The layout is fixed by the schema rather than described in the payload:
+ * <pre>
+ * byte     format version (1)
+ * int64    customerId, big-endian
+ * 4 x      name, legalId, type, address: varint length + 1 (0 for null), then UTF-8 bytes
+ * </pre>
+ * The customer id sits at a fixed offset, and reading stops there: the event handlers only use the id, so
+ * decoded events carry {@code null} for the other fields and their bytes are never parsed.
+ */
+public class CustomerEventBinaryConverter implements MessageConverter {
+
+    public static final String CONTENT_TYPE = "application/x-customer-event";
+
+    static final byte FORMAT_VERSION = 1;
+
+    private static final int HEADER_LENGTH = 1 + Long.BYTES;
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        if (!(object instanceof CustomerEvent event)) {
+            throw new MessageConversionException("Cannot encode " + object.getClass().getName() + " as a customer event");
+        }
+        if (event.getCustomerId() == null) {
+            throw new MessageConversionException("Customer event without customer id");
+        }
+        byte[][] fields = {utf8(event.getName()), utf8(event.getLegalId()), utf8(event.getType()), utf8(event.getAddress())};
+        int length = HEADER_LENGTH;
+        for (byte[] field : fields) {
+            length += varintLength(lengthPrefix(field)) + (field == null ? 0 : field.length);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.put(FORMAT_VERSION).putLong(event.getCustomerId());
+        for (byte[] field : fields) {
+            writeVarint(buffer, lengthPrefix(field));
+            if (field != null) {
+                buffer.put(field);
+            }
+        }
+        messageProperties.setContentType(CONTENT_TYPE);
+        messageProperties.setContentLength(length);
+        return new Message(buffer.array(), messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        byte[] body = message.getBody();
+        if (body.length < HEADER_LENGTH) {
+            throw new MessageConversionException("Customer event of " + body.length + " bytes is truncated");
+        }
+        if (body[0] != FORMAT_VERSION) {
+            throw new MessageConversionException("Unsupported customer event format version " + body[0]);
+        }
+        CustomerEvent event = new CustomerEvent();
+        event.setCustomerId(ByteBuffer.wrap(body, 1, Long.BYTES).getLong());
+        return event;
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int lengthPrefix(byte[] field) {
+        return field == null ? 0 : field.length + 1;
+    }
+
+    private static int varintLength(int value) {
+        int length = 1;
+        while ((value >>>= 7) != 0) {
+            length++;
+        }
+        return length;
+    }
+
+    private static void writeVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+}
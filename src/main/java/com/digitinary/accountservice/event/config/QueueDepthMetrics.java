@@ -0,0 +1,68 @@
+package com.digitinary.accountservice.event.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the backlog and consumer count of every declared queue as gauges. The broker is polled on a
+ * schedule rather than per scrape, so a slow or unavailable broker never stalls the metrics endpoint; the
+ * last known values are kept until the next successful poll.
+ */
+@Slf4j
+@Component
+public class QueueDepthMetrics implements MeterBinder {
+
+    private final AmqpAdmin amqpAdmin;
+    private final List<QueueGauges> queues;
+
+    public QueueDepthMetrics(AmqpAdmin amqpAdmin, List<Queue> queues) {
+        this.amqpAdmin = amqpAdmin;
+        this.queues = queues.stream().map(queue -> new QueueGauges(queue.getName())).toList();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (QueueGauges queue : queues) {
+            Gauge.builder("rabbitmq.queue.messages", queue.messages, AtomicLong::get)
+                    .description("Messages ready for delivery in the queue")
+                    .tag("queue", queue.name)
+                    .register(registry);
+            Gauge.builder("rabbitmq.queue.consumers", queue.consumers, AtomicLong::get)
+                    .description("Consumers attached to the queue")
+                    .tag("queue", queue.name)
+                    .register(registry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rabbitmq.metrics.queue-depth-interval:15000}")
+    public void refresh() {
+        for (QueueGauges queue : queues) {
+            try {
+                QueueInformation information = amqpAdmin.getQueueInfo(queue.name);
+                if (information != null) {
+                    queue.messages.set(information.getMessageCount());
+                    queue.consumers.set(information.getConsumerCount());
+                }
+            } catch (AmqpException e) {
+                log.debug("Could not read depth of queue {}: {}", queue.name, e.getMessage());
+            }
+        }
+    }
+
+    private record QueueGauges(String name, AtomicLong messages, AtomicLong consumers) {
+        QueueGauges(String name) {
+            this(name, new AtomicLong(), new AtomicLong());
+        }
+    }
+}
@@ -1,11 +1,21 @@
 package com.digitinary.accountservice.event.config;
 
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 public class RabbitMQConfig {
 
@@ -24,14 +34,86 @@ public class RabbitMQConfig {
     @Value("${rabbitmq.routingKeys.deleted}")
     private String deletedRoutingKey;
 
+    @Value("${rabbitmq.exchange.account:account.direct.exchange}")
+    private String accountExchangeName;
+
+    @Value("${rabbitmq.exchange.dead-letter:customer.dlx}")
+    private String deadLetterExchangeName;
+
+    @Value("${rabbitmq.retry.delay:5000}")
+    private long retryDelay;
+
+    @Value("${rabbitmq.retry.max-attempts:5}")
+    private int retryMaxAttempts;
+
+    @Value("${rabbitmq.listener.prefetch:250}")
+    private int prefetch;
+
+    @Value("${rabbitmq.listener.ack-batch-size:25}")
+    private int ackBatchSize;
+
+    @Value("${rabbitmq.listener.receive-timeout:200}")
+    private long receiveTimeout;
+
+    @Value("${rabbitmq.listener.batch.size:100}")
+    private int batchSize;
+
+    @Value("${rabbitmq.listener.batch.receive-timeout:500}")
+    private long batchReceiveTimeout;
+
+    public static String retryQueueName(String queueName) {
+        return queueName + ".retry";
+    }
+
+    public static String parkingLotQueueName(String queueName) {
+        return queueName + ".dlq";
+    }
+
     @Bean
     public Queue customerCreatedQueue() {
-        return new Queue(customerCreatedQueueName, true);
+        return workQueue(customerCreatedQueueName);
     }
 
     @Bean
     public Queue customerDeletedQueue() {
-        return new Queue(customerDeletedQueueName, true);
+        return workQueue(customerDeletedQueueName);
+    }
+
+    /**
+     * Exchange for the account events relayed from the outbox, routed by event type. Consumers declare and
+     * bind their own queues.
+     */
+    @Bean
+    public DirectExchange accountExchange() {
+        return new DirectExchange(accountExchangeName);
+    }
+
+    @Bean
+    public DirectExchange deadLetterExchange() {
+        return new DirectExchange(deadLetterExchangeName);
+    }
+
+    /**
+     * Per work queue: a delay queue whose expired messages go straight back to the work queue, and a
+     * parking-lot queue for messages that ran out of attempts, both fed from the dead-letter exchange. These
+     * queues are new with the topology, so unlike the work queues they carry their arguments themselves.
+     */
+    @Bean
+    public Declarables retryTopology(DirectExchange deadLetterExchange) {
+        List<Declarable> declarables = new ArrayList<>();
+        for (String queueName : List.of(customerCreatedQueueName, customerDeletedQueueName)) {
+            Queue retryQueue = QueueBuilder.durable(retryQueueName(queueName))
+                    .ttl((int) retryDelay)
+                    .deadLetterExchange("")
+                    .deadLetterRoutingKey(queueName)
+                    .build();
+            Queue parkingLotQueue = QueueBuilder.durable(parkingLotQueueName(queueName)).build();
+            declarables.add(retryQueue);
+            declarables.add(parkingLotQueue);
+            declarables.add(BindingBuilder.bind(retryQueue).to(deadLetterExchange).with(retryQueue.getName()));
+            declarables.add(BindingBuilder.bind(parkingLotQueue).to(deadLetterExchange).with(parkingLotQueue.getName()));
+        }
+        return new Declarables(declarables);
     }
 
     @Bean
@@ -49,8 +131,81 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(customerDeletedQueue).to(directExchange).with(deletedRoutingKey);
     }
 
+    /**
+     * Picks the converter from the message content type: {@value CustomerEventBinaryConverter#CONTENT_TYPE}
+     * for the compact customer event encoding, JSON for everything else, including outgoing messages.
+     */
+    @Bean
+    public ContentTypeDelegatingMessageConverter messageConverter() {
+        ContentTypeDelegatingMessageConverter converter =
+                new ContentTypeDelegatingMessageConverter(new Jackson2JsonMessageConverter());
+        converter.addDelegate(CustomerEventBinaryConverter.CONTENT_TYPE, new CustomerEventBinaryConverter());
+        return converter;
+    }
+
+    /**
+     * Schedules failed customer events for a retry and parks them once they run out of attempts, for both
+     * the per-event and the batch listeners.
+     */
     @Bean
-    public Jackson2JsonMessageConverter messageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public RetryingMessageRecoverer customerEventRecoverer(RabbitTemplate rabbitTemplate) {
+        return new RetryingMessageRecoverer(rabbitTemplate, deadLetterExchangeName, retryMaxAttempts);
+    }
+
+    /**
+     * Default factory for the per-event listeners. Boot's {@code spring.rabbitmq.listener.simple.*} settings
+     * are applied first; on top of that consumers prefetch {@code rabbitmq.listener.prefetch} messages and
+     * acknowledge them in batches of up to {@code rabbitmq.listener.ack-batch-size} with a single multiple-ack,
+     * flushed after {@code rabbitmq.listener.receive-timeout} without new deliveries. Consumer counts are set
+     * per queue on the listeners. A failed delivery is handed to {@link RetryingMessageRecoverer}; if even
+     * that fails, the message is rejected without requeue and the dead-letter policy routes it into the
+     * retry queue.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            RetryingMessageRecoverer customerEventRecoverer) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        factory.setPrefetchCount(prefetch);
+        factory.setBatchSize(ackBatchSize);
+        factory.setReceiveTimeout(receiveTimeout);
+        factory.setDefaultRequeueRejected(false);
+        factory.setAdviceChain(RetryInterceptorBuilder.stateless()
+                .maxAttempts(1)
+                .recoverer(customerEventRecoverer)
+                .build());
+        return factory;
+    }
+
+    /**
+     * Factory for {@code CustomerEventBatchHandler}. The handler routes the individual messages it cannot
+     * process through {@link RetryingMessageRecoverer} itself; anything that still escapes the listener
+     * rejects the whole batch without requeue, which the dead-letter policy routes into the retry queue.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "rabbitmq.listener.batch.enabled", havingValue = "true")
+    public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        // upper bound on how long a partial batch waits for more messages before it is delivered
+        factory.setReceiveTimeout(batchReceiveTimeout);
+        factory.setPrefetchCount(Math.max(batchSize, prefetch));
+        factory.setDefaultRequeueRejected(false);
+        return factory;
+    }
+
+    /**
+     * Declared without queue arguments: the queues predate the retry topology, and redeclaring an existing
+     * queue with different arguments fails with PRECONDITION_FAILED. Their dead-letter exchange and routing
+     * key are set by a broker policy instead, see "Dead-lettering" in the README.
+     */
+    private Queue workQueue(String name) {
+        return QueueBuilder.durable(name).build();
     }
 }
@@ -0,0 +1,52 @@
+package com.digitinary.accountservice.event.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+
+/**
+ * Routes a message whose listener failed into the retry topology declared by {@link RabbitMQConfig}: it is
+ * republished to the dead-letter exchange for the queue's delay queue until {@code maxAttempts} deliveries
+ * have failed, and to the queue's parking-lot queue after that. The failed delivery itself then completes
+ * normally, so it is acknowledged with the rest of its ack batch instead of nacking messages that succeeded.
+ */
+@Slf4j
+public class RetryingMessageRecoverer implements MessageRecoverer {
+
+    static final String RETRY_COUNT_HEADER = "x-retry-count";
+    static final String EXCEPTION_MESSAGE_HEADER = "x-exception-message";
+
+    private final AmqpTemplate amqpTemplate;
+    private final String deadLetterExchange;
+    private final int maxAttempts;
+
+    public RetryingMessageRecoverer(AmqpTemplate amqpTemplate, String deadLetterExchange, int maxAttempts) {
+        this.amqpTemplate = amqpTemplate;
+        this.deadLetterExchange = deadLetterExchange;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public void recover(Message message, Throwable cause) {
+        MessageProperties properties = message.getMessageProperties();
+        String queue = properties.getConsumerQueue();
+        int retries = retryCount(properties);
+        properties.setHeader(EXCEPTION_MESSAGE_HEADER, String.valueOf(cause.getCause() != null ? cause.getCause().getMessage() : cause.getMessage()));
+
+        if (retries + 1 < maxAttempts) {
+            properties.setHeader(RETRY_COUNT_HEADER, retries + 1);
+            log.warn("Delivery {} of message from {} failed, scheduling a retry", retries + 1, queue);
+            amqpTemplate.send(deadLetterExchange, RabbitMQConfig.retryQueueName(queue), message);
+        } else {
+            log.error("Message from {} failed {} times, parking it", queue, retries + 1, cause);
+            amqpTemplate.send(deadLetterExchange, RabbitMQConfig.parkingLotQueueName(queue), message);
+        }
+    }
+
+    private static int retryCount(MessageProperties properties) {
+        Object retries = properties.getHeader(RETRY_COUNT_HEADER);
+        return retries instanceof Number number ? number.intValue() : 0;
+    }
+}
@@ -0,0 +1,99 @@
+package com.digitinary.accountservice.event.handler;
+
+import com.digitinary.accountservice.event.model.CustomerEvent;
+import com.digitinary.accountservice.service.AccountService;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Batch counterpart of {@link CustomerEventHandler}, enabled with {@code rabbitmq.listener.batch.enabled=true}.
+ * Each batch is written in one transaction; if that fails the batch is replayed event by event so a single
+ * poison message cannot hold back the rest. Unreadable messages and events whose replay fails are handed to
+ * the same {@link MessageRecoverer} as in per-event mode, so they go through the retry and parking-lot
+ * queues instead of being acknowledged with the batch.
+ */
+@Slf4j
+@Component
+@Timed(value = "customer.events", histogram = true)
+@ConditionalOnProperty(name = "rabbitmq.listener.batch.enabled", havingValue = "true")
+public class CustomerEventBatchHandler {
+
+    private final AccountService accountService;
+    private final MessageConverter messageConverter;
+    private final MessageRecoverer messageRecoverer;
+
+    public CustomerEventBatchHandler(AccountService accountService, MessageConverter messageConverter,
+                                     MessageRecoverer messageRecoverer) {
+        this.accountService = accountService;
+        this.messageConverter = messageConverter;
+        this.messageRecoverer = messageRecoverer;
+    }
+
+    @RabbitListener(queues = "#{@customerCreatedQueue}", concurrency = "${rabbitmq.listener.created.concurrency:2-8}", containerFactory = "batchListenerContainerFactory")
+    public void handleCustomersCreated(List<Message> messages) {
+        List<CustomerEventMessage> events = readEvents(messages);
+        log.debug("customer created batch of {} events", events.size());
+        processBatch(events, accountService::createDefaultAccounts, accountService::createDefaultAccount);
+    }
+
+    @RabbitListener(queues = "#{@customerDeletedQueue}", concurrency = "${rabbitmq.listener.deleted.concurrency:1-4}", containerFactory = "batchListenerContainerFactory")
+    public void handleCustomersDeleted(List<Message> messages) {
+        List<CustomerEventMessage> events = readEvents(messages);
+        log.debug("customer deleted batch of {} events", events.size());
+        processBatch(events, accountService::deleteAllByCustomerIds, accountService::deleteAllByCustomerId);
+    }
+
+    private List<CustomerEventMessage> readEvents(List<Message> messages) {
+        List<CustomerEventMessage> events = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                CustomerEvent event = (CustomerEvent) messageConverter.fromMessage(message);
+                events.add(new CustomerEventMessage(event.getCustomerId(), message));
+            } catch (RuntimeException e) {
+                recover(message, "Unreadable customer event", e);
+            }
+        }
+        return events;
+    }
+
+    private void processBatch(List<CustomerEventMessage> events, Consumer<List<Long>> batchAction,
+                              Consumer<Long> singleAction) {
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            batchAction.accept(events.stream().map(CustomerEventMessage::customerId).toList());
+        } catch (RuntimeException batchFailure) {
+            log.warn("Batch of {} customer events failed, retrying individually", events.size(), batchFailure);
+            for (CustomerEventMessage event : events) {
+                try {
+                    singleAction.accept(event.customerId());
+                } catch (RuntimeException e) {
+                    recover(event.message(), "Customer event for customer id " + event.customerId() + " failed", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * If the recoverer cannot republish the message either, the exception leaves the listener and the
+     * container rejects the batch, which dead-letters it rather than acknowledging it.
+     */
+    private void recover(Message message, String reason, RuntimeException cause) {
+        messageRecoverer.recover(message, new ListenerExecutionFailedException(reason, cause, message));
+    }
+
+    private record CustomerEventMessage(Long customerId, Message message) {
+    }
+}
@@ -2,12 +2,16 @@ package com.digitinary.accountservice.event.handler;
 
 import com.digitinary.accountservice.event.model.CustomerEvent;
 import com.digitinary.accountservice.service.AccountService;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
+@Timed(value = "customer.events", histogram = true)
+@ConditionalOnProperty(name = "rabbitmq.listener.batch.enabled", havingValue = "false", matchIfMissing = true)
 public class CustomerEventHandler {
 
     private final AccountService accountService;
@@ -16,15 +20,15 @@ public class CustomerEventHandler {
         this.accountService = accountService;
     }
 
-    @RabbitListener(queues = "#{@customerCreatedQueue}")
+    @RabbitListener(queues = "#{@customerCreatedQueue}", concurrency = "${rabbitmq.listener.created.concurrency:2-8}")
     public void handleCustomerCreated(CustomerEvent event) {
-        log.debug("customer created event with values {}", event.toString());
+        log.debug("customer created event with values {}", event);
         accountService.createDefaultAccount(event.getCustomerId());
     }
 
-    @RabbitListener(queues = "#{@customerDeletedQueue}")
+    @RabbitListener(queues = "#{@customerDeletedQueue}", concurrency = "${rabbitmq.listener.deleted.concurrency:1-4}")
     public void handleCustomerDeleted(CustomerEvent event) {
-        log.debug("customer deleted event with values {}", event.toString());
+        log.debug("customer deleted event with values {}", event);
         accountService.deleteAllByCustomerId(event.getCustomerId());
     }
 }
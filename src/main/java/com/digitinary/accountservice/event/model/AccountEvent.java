@@ -0,0 +1,31 @@
+package com.digitinary.accountservice.event.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Account change published on the account exchange. Balance, status and account type hold the state after
+ * the change; they are {@code null} when a customer's accounts are deleted in bulk and for balance changes,
+ * which carry the signed {@code amount} posted instead.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountEvent implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private AccountEventType eventType;
+    private Long accountId;
+    private Long customerId;
+    private BigDecimal balance;
+    private String status;
+    private String accountType;
+    private BigDecimal amount;
+    private Instant occurredAt;
+}
@@ -0,0 +1,18 @@
+package com.digitinary.accountservice.event.model;
+
+public enum AccountEventType {
+    CREATED("account.created"),
+    UPDATED("account.updated"),
+    DELETED("account.deleted"),
+    BALANCE_CHANGED("account.balance-changed");
+
+    private final String routingKey;
+
+    AccountEventType(String routingKey) {
+        this.routingKey = routingKey;
+    }
+
+    public String getRoutingKey() {
+        return routingKey;
+    }
+}
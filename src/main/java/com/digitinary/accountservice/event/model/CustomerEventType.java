@@ -0,0 +1,6 @@
+package com.digitinary.accountservice.event.model;
+
+public enum CustomerEventType {
+    CREATED,
+    DELETED
+}
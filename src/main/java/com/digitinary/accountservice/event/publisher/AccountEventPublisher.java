@@ -0,0 +1,81 @@
+package com.digitinary.accountservice.event.publisher;
+
+import com.digitinary.accountservice.entity.OutboxEvent;
+import com.digitinary.accountservice.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Publishes pending outbox events to the account exchange. A batch is sent on one channel and confirmed by
+ * the broker as a whole before its rows are deleted; if publishing or confirming fails, the transaction
+ * rolls back and the batch is sent again later. Delivery is therefore at least once, and consumers
+ * deduplicate on the message id, which is the outbox id.
+ */
+@Slf4j
+@Component
+public class AccountEventPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final String exchange;
+    private final int batchSize;
+    private final long confirmTimeout;
+
+    public AccountEventPublisher(OutboxEventRepository outboxEventRepository, RabbitTemplate rabbitTemplate,
+                                 @Value("${rabbitmq.exchange.account:account.direct.exchange}") String exchange,
+                                 @Value("${events.outbox.batch-size:500}") int batchSize,
+                                 @Value("${events.outbox.confirm-timeout:5000}") long confirmTimeout) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.exchange = exchange;
+        this.batchSize = batchSize;
+        this.confirmTimeout = confirmTimeout;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Publishes the oldest batch of pending events.
+     *
+     * @return the number of events published
+     */
+    @Transactional
+    public int publishBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findByOrderByIdAsc(Limit.of(batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        rabbitTemplate.invoke(operations -> {
+            for (OutboxEvent event : events) {
+                operations.send(exchange, event.getEventType().getRoutingKey(), toMessage(event));
+            }
+            operations.waitForConfirmsOrDie(confirmTimeout);
+            return null;
+        });
+        outboxEventRepository.deleteAllInBatch(events);
+        log.debug("Published {} account events", events.size());
+        return events.size();
+    }
+
+    private static Message toMessage(OutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(String.valueOf(event.getId()))
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.digitinary.accountservice.event.publisher;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the outbox on a fixed delay, one transaction per batch, until a batch comes back short.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "events.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class AccountEventRelay {
+
+    private final AccountEventPublisher publisher;
+
+    public AccountEventRelay(AccountEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Scheduled(fixedDelayString = "${events.outbox.poll-interval:500}")
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = publisher.publishBatch();
+            } while (published == publisher.getBatchSize());
+        } catch (AmqpException e) {
+            // the batch stays in the outbox and is retried on the next run
+            log.warn("Publishing account events failed: {}", e.getMessage());
+        }
+    }
+}
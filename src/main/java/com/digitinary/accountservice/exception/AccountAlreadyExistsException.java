@@ -0,0 +1,7 @@
+package com.digitinary.accountservice.exception;
+
+public class AccountAlreadyExistsException extends ClientInputException {
+    public AccountAlreadyExistsException(Long id) {
+        super("Account already exists for this id :: " + id);
+    }
+}
@@ -1,40 +1,117 @@
 package com.digitinary.accountservice.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+
+/**
+ * Maps exceptions to responses. Client errors are expected traffic and are logged at debug level only, so a
+ * burst of rejected requests does not turn into a burst of log I/O; they remain visible through the
+ * {@code account.exceptions} counter.
+ */
 @Slf4j
 @ControllerAdvice
 public class AccountExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
+    public AccountExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(AccountNotFoundException.class)
     public ResponseEntity<Object> handleAccountNotFoundException(AccountNotFoundException ex) {
-        log.error("AccountNotFoundException {}", ex.getMessage());
+        log.debug("AccountNotFoundException {}", ex.getMessage());
+        count(ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(InvalidAccountIdException.class)
     public ResponseEntity<Object> handleInvalidAccountIdException(InvalidAccountIdException ex) {
-        log.error("InvalidAccountIdException {}", ex.getMessage());
+        log.debug("InvalidAccountIdException {}", ex.getMessage());
+        count(ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(MaxAccountsReachedException.class)
     public ResponseEntity<Object> handleMaxAccountsReachedException(MaxAccountsReachedException ex) {
-        log.error("MaxAccountsReachedException {}", ex.getMessage());
+        log.debug("MaxAccountsReachedException {}", ex.getMessage());
+        count(ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(InvalidAccountTypeException.class)
     public ResponseEntity<Object> handleInvalidAccountTypeException(InvalidAccountTypeException ex) {
-        log.error("InvalidAccountTypeException {}", ex.getMessage());
+        log.debug("InvalidAccountTypeException {}", ex.getMessage());
+        count(ex);
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidAmountException.class)
+    public ResponseEntity<Object> handleInvalidAmountException(InvalidAmountException ex) {
+        log.debug("InvalidAmountException {}", ex.getMessage());
+        count(ex);
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InsufficientFundsException.class)
+    public ResponseEntity<Object> handleInsufficientFundsException(InsufficientFundsException ex) {
+        log.debug("InsufficientFundsException {}", ex.getMessage());
+        count(ex);
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Object> handleInvalidCursorException(InvalidCursorException ex) {
+        log.debug("InvalidCursorException {}", ex.getMessage());
+        count(ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(BatchSizeExceededException.class)
+    public ResponseEntity<Object> handleBatchSizeExceededException(BatchSizeExceededException ex) {
+        log.debug("BatchSizeExceededException {}", ex.getMessage());
+        count(ex);
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(AccountAlreadyExistsException.class)
+    public ResponseEntity<Object> handleAccountAlreadyExistsException(AccountAlreadyExistsException ex) {
+        log.debug("AccountAlreadyExistsException {}", ex.getMessage());
+        count(ex);
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        log.debug("OptimisticLockingFailureException {}", ex.getMessage());
+        count(ex);
+        return new ResponseEntity<>("Account was modified concurrently, please retry.", HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Deadlock victims and lock wait timeouts, e.g. MySQL gap locks making racing first creates for a customer
+     * deadlock; the transaction was rolled back as a whole, so the request can simply be retried.
+     */
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    public ResponseEntity<Object> handlePessimisticLockingFailureException(PessimisticLockingFailureException ex) {
+        log.debug("PessimisticLockingFailureException {}", ex.getMessage());
+        count(ex);
+        return new ResponseEntity<>("Account was modified concurrently, please retry.", HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleGlobalException(Exception ex) {
-        log.error("Exception {}", ex.getMessage());
+        log.error("Exception {}", ex.getMessage(), ex);
+        count(ex);
         return new ResponseEntity<>("An error occurred: " + ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    private void count(Exception ex) {
+        meterRegistry.counter("account.exceptions", "exception", ex.getClass().getSimpleName()).increment();
+    }
 }
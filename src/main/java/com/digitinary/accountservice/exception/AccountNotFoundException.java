@@ -1,6 +1,6 @@
 package com.digitinary.accountservice.exception;
 
-public class AccountNotFoundException extends RuntimeException {
+public class AccountNotFoundException extends ClientInputException {
     public AccountNotFoundException(Long id) {
         super("Account not found for this id :: " + id);
     }
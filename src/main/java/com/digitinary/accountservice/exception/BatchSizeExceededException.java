@@ -0,0 +1,7 @@
+package com.digitinary.accountservice.exception;
+
+public class BatchSizeExceededException extends ClientInputException {
+    public BatchSizeExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.digitinary.accountservice.exception;
+
+/**
+ * Base of the exceptions that reject a request and map to a 4xx response. They describe the client's input,
+ * not a fault in the service, so the stack trace carries no information and is not captured.
+ */
+public abstract class ClientInputException extends RuntimeException {
+    protected ClientInputException(String message) {
+        super(message, null, false, false);
+    }
+}
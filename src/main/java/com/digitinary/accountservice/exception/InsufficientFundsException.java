@@ -0,0 +1,7 @@
+package com.digitinary.accountservice.exception;
+
+public class InsufficientFundsException extends ClientInputException {
+    public InsufficientFundsException(Long id) {
+        super("Insufficient funds in account :: " + id);
+    }
+}
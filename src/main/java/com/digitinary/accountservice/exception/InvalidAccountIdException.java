@@ -1,7 +1,7 @@
 package com.digitinary.accountservice.exception;
 
-public class InvalidAccountIdException extends RuntimeException {
+public class InvalidAccountIdException extends ClientInputException {
     public InvalidAccountIdException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,7 @@
 package com.digitinary.accountservice.exception;
 
-public class InvalidAccountTypeException extends RuntimeException {
+public class InvalidAccountTypeException extends ClientInputException {
     public InvalidAccountTypeException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+}
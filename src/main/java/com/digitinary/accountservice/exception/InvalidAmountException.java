@@ -0,0 +1,7 @@
+package com.digitinary.accountservice.exception;
+
+public class InvalidAmountException extends ClientInputException {
+    public InvalidAmountException(String message) {
+        super(message);
+    }
+}
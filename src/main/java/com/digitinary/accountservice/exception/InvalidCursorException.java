@@ -0,0 +1,7 @@
+package com.digitinary.accountservice.exception;
+
+public class InvalidCursorException extends ClientInputException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
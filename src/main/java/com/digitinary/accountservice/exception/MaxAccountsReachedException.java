@@ -1,6 +1,6 @@
 package com.digitinary.accountservice.exception;
 
-public class MaxAccountsReachedException extends RuntimeException {
+public class MaxAccountsReachedException extends ClientInputException {
     public MaxAccountsReachedException(String message) {
         super(message);
     }
@@ -0,0 +1,64 @@
+package com.digitinary.accountservice.model;
+
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import com.digitinary.accountservice.model.dto.AccountPageDTO;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Strong entity tags for account representations, computed from the DTO fields and version without
+ * serializing anything. The fields are hashed in as well because ids of deleted accounts are reused, so a
+ * new account can come back with the same id and version as an old one.
+ */
+public class AccountETag {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private AccountETag() {
+    }
+
+    public static String of(AccountDTO account) {
+        return quote(Objects.requireNonNullElse(account.getVersion(), 0L), hash(FNV_OFFSET_BASIS, account));
+    }
+
+    /**
+     * Tag for a page: changes whenever an account on it changes, appears or disappears, or the cursor to the
+     * next page moves.
+     */
+    public static String of(AccountPageDTO page) {
+        return quote(page.getAccounts(), mix(FNV_OFFSET_BASIS, Objects.hashCode(page.getNextCursor())));
+    }
+
+    /**
+     * Tag for a list of accounts: changes whenever one of them changes, appears or disappears.
+     */
+    public static String of(List<AccountDTO> accounts) {
+        return quote(accounts, FNV_OFFSET_BASIS);
+    }
+
+    private static String quote(List<AccountDTO> accounts, long hash) {
+        for (AccountDTO account : accounts) {
+            hash = hash(hash, account);
+        }
+        return quote(accounts.size(), hash);
+    }
+
+    private static long hash(long hash, AccountDTO account) {
+        hash = mix(hash, Objects.hashCode(account.getId()));
+        hash = mix(hash, Objects.hashCode(account.getVersion()));
+        hash = mix(hash, Objects.hashCode(account.getCustomerId()));
+        hash = mix(hash, Objects.hashCode(account.getBalance()));
+        hash = mix(hash, Objects.hashCode(account.getStatus()));
+        return mix(hash, Objects.hashCode(account.getType()));
+    }
+
+    private static long mix(long hash, long value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+
+    private static String quote(long prefix, long hash) {
+        return "\"" + prefix + "-" + Long.toHexString(hash) + "\"";
+    }
+}
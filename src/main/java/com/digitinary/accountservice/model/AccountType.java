@@ -1,7 +1,28 @@
 package com.digitinary.accountservice.model;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public enum AccountType {
     SALARY,
     SAVINGS,
-    INVESTMENT
+    INVESTMENT;
+
+    private static final Map<String, AccountType> BY_NAME = new HashMap<>();
+
+    static {
+        for (AccountType type : values()) {
+            BY_NAME.put(type.name(), type);
+        }
+    }
+
+    /**
+     * Resolves a type by its exact name without the exception {@link #valueOf(String)} throws for unknown
+     * names.
+     *
+     * @return the matching type, or {@code null} when the name is null or unknown
+     */
+    public static AccountType fromName(String name) {
+        return name == null ? null : BY_NAME.get(name);
+    }
 }
@@ -0,0 +1,20 @@
+package com.digitinary.accountservice.model;
+
+public enum AccountValidationError {
+    ACCOUNT_ID_REQUIRED("Account ID and Customer ID are required."),
+    INVALID_ACCOUNT_ID_LENGTH("Account ID must be 10 digits."),
+    ACCOUNT_ID_CUSTOMER_MISMATCH("The first 7 digits of the Account ID must match the Customer ID."),
+    INVALID_ACCOUNT_TYPE("Invalid Account Type"),
+    INVALID_AMOUNT("Amounts must have at most 2 decimal places."),
+    NON_POSITIVE_AMOUNT("Amount must be greater than zero.");
+
+    private final String message;
+
+    AccountValidationError(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
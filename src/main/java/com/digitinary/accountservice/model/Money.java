@@ -0,0 +1,33 @@
+package com.digitinary.accountservice.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Conversions between amounts in currency units, as exposed by the API, and the {@code long} minor units
+ * (hundredths) balances are stored and computed in.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private static final BigDecimal MAX_AMOUNT = BigDecimal.valueOf(Long.MAX_VALUE, SCALE);
+
+    private Money() {
+    }
+
+    /**
+     * Whether the amount converts to minor units exactly, i.e. has at most {@link #SCALE} decimal places
+     * and fits in a {@code long}.
+     */
+    public static boolean isExact(BigDecimal amount) {
+        return amount.stripTrailingZeros().scale() <= SCALE && amount.abs().compareTo(MAX_AMOUNT) <= 0;
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+}
@@ -1,16 +1,37 @@
 package com.digitinary.accountservice.model.dto;
 
+import com.digitinary.accountservice.model.AccountType;
+import com.digitinary.accountservice.model.Money;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class AccountDTO {
     private Long id;
     private Long customerId;
-    private Double balance;
+    private BigDecimal balance;
     private String status;
     private String type;
-}
\ No newline at end of file
+    /**
+     * Version of the account this was read from; exposed to clients through the ETag only.
+     */
+    @JsonIgnore
+    private Long version;
+
+    public AccountDTO(Long id, Long customerId, BigDecimal balance, String status, String type) {
+        this(id, customerId, balance, status, type, null);
+    }
+
+    /**
+     * Constructor for JPQL {@code select new} projections, taking the columns as they are stored.
+     */
+    public AccountDTO(Long id, Long customerId, long balanceMinor, String status, AccountType type, Long version) {
+        this(id, customerId, Money.fromMinorUnits(balanceMinor), status, type.name(), version);
+    }
+}
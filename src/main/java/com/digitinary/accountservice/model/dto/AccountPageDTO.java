@@ -0,0 +1,15 @@
+package com.digitinary.accountservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountPageDTO {
+    private List<AccountDTO> accounts;
+    private String nextCursor;
+}
@@ -0,0 +1,14 @@
+package com.digitinary.accountservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AmountDTO {
+    private BigDecimal amount;
+}
@@ -0,0 +1,15 @@
+package com.digitinary.accountservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchItemResultDTO {
+    private Long id;
+    private int status;
+    private String message;
+    private AccountDTO account;
+}
@@ -1,7 +1,9 @@
 package com.digitinary.accountservice.model.mapper;
 
 import com.digitinary.accountservice.entity.Account;
+import com.digitinary.accountservice.entity.AccountReadModel;
 import com.digitinary.accountservice.model.AccountType;
+import com.digitinary.accountservice.model.Money;
 import com.digitinary.accountservice.model.dto.AccountDTO;
 
 public class AccountMapper {
@@ -10,9 +12,9 @@ public class AccountMapper {
         Account account = new Account();
         account.setId(accountDTO.getId());
         account.setCustomerId(accountDTO.getCustomerId());
-        account.setBalance(accountDTO.getBalance());
+        account.setBalanceMinor(accountDTO.getBalance() == null ? 0 : Money.toMinorUnits(accountDTO.getBalance()));
         account.setStatus(accountDTO.getStatus());
-        account.setType(AccountType.valueOf(accountDTO.getType().toUpperCase()));
+        account.setType(AccountType.fromName(accountDTO.getType()));
         return account;
     }
 
@@ -20,9 +22,21 @@ public class AccountMapper {
         AccountDTO accountDTO = new AccountDTO();
         accountDTO.setId(account.getId());
         accountDTO.setCustomerId(account.getCustomerId());
-        accountDTO.setBalance(account.getBalance());
+        accountDTO.setBalance(Money.fromMinorUnits(account.getBalanceMinor()));
         accountDTO.setStatus(account.getStatus());
         accountDTO.setType(account.getType().name());
+        accountDTO.setVersion(account.getVersion());
+        return accountDTO;
+    }
+
+    public static AccountDTO toDTO(AccountReadModel account) {
+        AccountDTO accountDTO = new AccountDTO();
+        accountDTO.setId(account.getId());
+        accountDTO.setCustomerId(account.getCustomerId());
+        accountDTO.setBalance(Money.fromMinorUnits(account.getBalanceMinor()));
+        accountDTO.setStatus(account.getStatus());
+        accountDTO.setType(account.getType().name());
+        accountDTO.setVersion(account.getVersion());
         return accountDTO;
     }
 }
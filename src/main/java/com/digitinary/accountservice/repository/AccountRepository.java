@@ -2,12 +2,110 @@ package com.digitinary.accountservice.repository;
 
 import com.digitinary.accountservice.entity.Account;
 import com.digitinary.accountservice.model.AccountType;
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * Reads that serve the query endpoints are read-only transactions of their own when called outside one, so
+ * with a replica configured they are routed to it; inherited finders such as {@code findById} already are.
+ */
 public interface AccountRepository extends JpaRepository<Account, Long> {
     Long countByCustomerId(Long customerId);
 
     Long countByCustomerIdAndType(Long customerId, AccountType type);
 
-    void deleteAllByCustomerId(Long customerId);
+    /**
+     * Set-based delete, unlike a derived delete which loads every account and removes it with its own
+     * statement. Managed accounts among them are not detached, so callers must not use them afterwards.
+     *
+     * @return the number of accounts deleted
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Account a where a.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select a.customerId from Account a where a.id = :id")
+    Optional<Long> findCustomerIdById(@Param("id") Long id);
+
+    /**
+     * Adds a signed amount to the balance unless that would take it below zero, without reading it first.
+     * The version is bumped so that a concurrent full update of the account fails its optimistic check
+     * instead of overwriting the new balance. Pending writes are flushed first, so within a transaction
+     * this statement is the one that takes the row lock last.
+     *
+     * @return 1 if the balance was changed, 0 if the account does not exist or lacks the funds
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Account a set a.balanceMinor = a.balanceMinor + :delta, a.version = a.version + 1 " +
+            "where a.id = :id and a.balanceMinor + :delta >= 0")
+    int applyBalanceDelta(@Param("id") Long id, @Param("delta") long delta);
+
+    /**
+     * Accounts of the customer projected straight into DTOs, so nothing enters the persistence context.
+     * Served by the {@code (customerId, id)} index, which also yields the rows in id order.
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.digitinary.accountservice.model.dto.AccountDTO(a.id, a.customerId, a.balanceMinor, " +
+            "a.status, a.type, a.version) from Account a where a.customerId = :customerId order by a.id")
+    List<AccountDTO> findDTOsByCustomerId(@Param("customerId") Long customerId);
+
+    @Query("select a.id from Account a where a.customerId = :customerId")
+    List<Long> findIdsByCustomerId(@Param("customerId") Long customerId);
+
+    /**
+     * Ids and owners of the customers' accounts, write-locked until commit so the rows cannot change or go
+     * away before the caller deletes them.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a.id as id, a.customerId as customerId from Account a where a.customerId in :customerIds")
+    List<AccountOwner> findOwnersWithLockByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
+
+    @Query("select a.id from Account a where a.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select a.customerId as customerId, count(a) as accountCount, " +
+            "sum(case when a.type = com.digitinary.accountservice.model.AccountType.SALARY then 1 else 0 end) as salaryAccountCount " +
+            "from Account a where a.customerId in :customerIds group by a.customerId")
+    List<CustomerAccountCount> countGroupedByCustomerId(@Param("customerIds") Collection<Long> customerIds);
+
+    @Transactional(readOnly = true)
+    List<Account> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from Account a order by a.id")
+    Stream<Account> streamAll();
+
+    interface AccountOwner {
+        Long getId();
+
+        Long getCustomerId();
+    }
+
+    interface CustomerAccountCount {
+        Long getCustomerId();
+
+        Long getAccountCount();
+
+        Long getSalaryAccountCount();
+    }
 }
@@ -0,0 +1,62 @@
+package com.digitinary.accountservice.repository;
+
+import com.digitinary.accountservice.entity.CustomerAccountSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface CustomerAccountSummaryRepository extends JpaRepository<CustomerAccountSummary, Long> {
+
+    @Modifying
+    @Query("update CustomerAccountSummary s set s.accountCount = s.accountCount + 1 " +
+            "where s.customerId = :customerId and s.accountCount < :maxAccounts")
+    int incrementAccountCount(@Param("customerId") Long customerId, @Param("maxAccounts") int maxAccounts);
+
+    @Modifying
+    @Query("update CustomerAccountSummary s set s.accountCount = s.accountCount + 1, s.salaryAccount = true " +
+            "where s.customerId = :customerId and s.accountCount < :maxAccounts and s.salaryAccount = false")
+    int incrementAccountCountWithSalary(@Param("customerId") Long customerId, @Param("maxAccounts") int maxAccounts);
+
+    @Modifying
+    @Query("update CustomerAccountSummary s set s.accountCount = s.accountCount - 1 " +
+            "where s.customerId = :customerId and s.accountCount > 0")
+    int decrementAccountCount(@Param("customerId") Long customerId);
+
+    @Modifying
+    @Query("update CustomerAccountSummary s set s.accountCount = s.accountCount - 1, s.salaryAccount = false " +
+            "where s.customerId = :customerId and s.accountCount > 0")
+    int decrementAccountCountWithSalary(@Param("customerId") Long customerId);
+
+    @Modifying
+    @Query("update CustomerAccountSummary s set s.salaryAccount = :salaryAccount " +
+            "where s.customerId = :customerId and s.salaryAccount <> :salaryAccount")
+    int updateSalaryAccount(@Param("customerId") Long customerId, @Param("salaryAccount") boolean salaryAccount);
+
+    /**
+     * Creates the summary unless one exists. Concurrent first creates for the same customer wait for each other
+     * on the key instead of failing on it; the losers leave the winner's row as it is.
+     */
+    @Modifying
+    @Query(value = "insert into customer_account_summary (customer_id, account_count, salary_account) " +
+            "values (:customerId, :accountCount, :salaryAccount) on duplicate key update customer_id = customer_id",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("customerId") Long customerId, @Param("accountCount") int accountCount,
+                       @Param("salaryAccount") boolean salaryAccount);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<CustomerAccountSummary> findWithLockByCustomerId(Long customerId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<CustomerAccountSummary> findAllByCustomerIdIn(Collection<Long> customerIds);
+
+    @Modifying
+    @Query("delete from CustomerAccountSummary s where s.customerId in :customerIds")
+    int deleteAllByCustomerIds(@Param("customerIds") Collection<Long> customerIds);
+}
@@ -0,0 +1,23 @@
+package com.digitinary.accountservice.repository;
+
+import com.digitinary.accountservice.entity.ProcessedEvent;
+import com.digitinary.accountservice.event.model.CustomerEventType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, ProcessedEvent.Key> {
+
+    @Query("select e.customerId from ProcessedEvent e where e.type = :type and e.customerId in :customerIds")
+    List<Long> findProcessedCustomerIds(@Param("type") CustomerEventType type,
+                                        @Param("customerIds") Collection<Long> customerIds);
+
+    @Modifying
+    @Query("delete from ProcessedEvent e where e.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") Instant cutoff);
+}
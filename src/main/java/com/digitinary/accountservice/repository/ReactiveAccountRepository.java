@@ -0,0 +1,20 @@
+package com.digitinary.accountservice.repository;
+
+import com.digitinary.accountservice.entity.AccountReadModel;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking read access to the account table, mirroring the queries of {@link AccountRepository}.
+ */
+public interface ReactiveAccountRepository extends R2dbcRepository<AccountReadModel, Long> {
+
+    Flux<AccountReadModel> findByCustomerId(Long customerId);
+
+    Flux<AccountReadModel> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select * from account order by id")
+    Flux<AccountReadModel> streamAll();
+}
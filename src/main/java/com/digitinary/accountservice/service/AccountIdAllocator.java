@@ -0,0 +1,128 @@
+package com.digitinary.accountservice.service;
+
+import com.digitinary.accountservice.exception.MaxAccountsReachedException;
+import com.digitinary.accountservice.repository.AccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Allocates default account ids of the form {@code customerId * 1000 + suffix} with a 3-digit suffix.
+ * The suffixes in use are tracked per customer, seeded once from the account table, so an allocation never
+ * hands out an id the customer already has. Allocation only synchronises on the state of one customer.
+ * Inside a transaction, an allocated suffix is handed back if the transaction rolls back, and a released one
+ * only becomes free once the delete has committed.
+ */
+@Component
+public class AccountIdAllocator {
+
+    static final int SUFFIX_RANGE = 1000;
+    static final int MIN_SUFFIX = 100;
+
+    private final AccountRepository accountRepository;
+    private final Cache<Long, CustomerSuffixes> customers;
+
+    public AccountIdAllocator(AccountRepository accountRepository,
+                              @Value("${accounts.id-allocator.maximum-customers:100000}") long maximumCustomers) {
+        this.accountRepository = accountRepository;
+        this.customers = Caffeine.newBuilder()
+                .maximumSize(maximumCustomers)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    public long allocate(Long customerId) {
+        CustomerSuffixes suffixes = suffixes(customerId);
+        int suffix = suffixes.allocate();
+        if (suffix < 0) {
+            throw new MaxAccountsReachedException("No account ids left for customer id " + customerId);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        suffixes.clear(suffix);
+                    }
+                }
+            });
+        }
+        return customerId * SUFFIX_RANGE + suffix;
+    }
+
+    public void markUsed(Long accountId) {
+        CustomerSuffixes suffixes = customers.getIfPresent(accountId / SUFFIX_RANGE);
+        if (suffixes != null) {
+            suffixes.mark((int) (accountId % SUFFIX_RANGE));
+        }
+    }
+
+    public void release(Long accountId) {
+        Runnable release = () -> {
+            CustomerSuffixes suffixes = customers.getIfPresent(accountId / SUFFIX_RANGE);
+            if (suffixes != null) {
+                suffixes.clear((int) (accountId % SUFFIX_RANGE));
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release.run();
+            }
+        });
+    }
+
+    public void forget(Collection<Long> customerIds) {
+        customers.invalidateAll(customerIds);
+    }
+
+    private CustomerSuffixes suffixes(Long customerId) {
+        CustomerSuffixes suffixes = customers.getIfPresent(customerId);
+        if (suffixes != null) {
+            return suffixes;
+        }
+        // seed outside the cache's compute lock; a concurrent seed for the same customer simply loses the race
+        CustomerSuffixes seeded = new CustomerSuffixes();
+        accountRepository.findIdsByCustomerId(customerId).forEach(id -> seeded.mark((int) (id % SUFFIX_RANGE)));
+        CustomerSuffixes existing = customers.asMap().putIfAbsent(customerId, seeded);
+        return existing != null ? existing : seeded;
+    }
+
+    private static final class CustomerSuffixes {
+
+        private final BitSet used = new BitSet(SUFFIX_RANGE);
+
+        synchronized int allocate() {
+            int start = ThreadLocalRandom.current().nextInt(MIN_SUFFIX, SUFFIX_RANGE);
+            int suffix = used.nextClearBit(start);
+            if (suffix >= SUFFIX_RANGE) {
+                suffix = used.nextClearBit(MIN_SUFFIX);
+                if (suffix >= start) {
+                    return -1;
+                }
+            }
+            used.set(suffix);
+            return suffix;
+        }
+
+        synchronized void mark(int suffix) {
+            used.set(suffix);
+        }
+
+        synchronized void clear(int suffix) {
+            used.clear(suffix);
+        }
+    }
+}
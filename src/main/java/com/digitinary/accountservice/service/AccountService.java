@@ -1,130 +1,425 @@
 package com.digitinary.accountservice.service;
 
+import com.digitinary.accountservice.cache.AccountCache;
 import com.digitinary.accountservice.entity.Account;
+import com.digitinary.accountservice.entity.CustomerAccountSummary;
+import com.digitinary.accountservice.event.model.AccountEventType;
+import com.digitinary.accountservice.event.model.CustomerEventType;
+import com.digitinary.accountservice.exception.AccountAlreadyExistsException;
 import com.digitinary.accountservice.exception.AccountNotFoundException;
-import com.digitinary.accountservice.exception.InvalidAccountIdException;
+import com.digitinary.accountservice.exception.BatchSizeExceededException;
+import com.digitinary.accountservice.exception.InsufficientFundsException;
 import com.digitinary.accountservice.exception.InvalidAccountTypeException;
 import com.digitinary.accountservice.exception.MaxAccountsReachedException;
+import com.digitinary.accountservice.model.AccountCursor;
 import com.digitinary.accountservice.model.AccountType;
+import com.digitinary.accountservice.model.AccountValidationError;
+import com.digitinary.accountservice.model.Money;
 import com.digitinary.accountservice.model.dto.AccountDTO;
+import com.digitinary.accountservice.model.dto.AccountPageDTO;
+import com.digitinary.accountservice.model.dto.BatchItemResultDTO;
 import com.digitinary.accountservice.model.mapper.AccountMapper;
 import com.digitinary.accountservice.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
+@Timed(value = "account.service", histogram = true)
 public class AccountService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private static final SQLExceptionTranslator SQL_STATE_TRANSLATOR = new SQLStateSQLExceptionTranslator();
+
     private final AccountRepository accountRepository;
-    private final Random random;
+    private final EntityManager entityManager;
+    private final AccountCache accountCache;
+    private final CustomerAccountSummaryService summaryService;
+    private final AccountIdAllocator accountIdAllocator;
+    private final AccountValidator accountValidator;
+    private final ProcessedEventService processedEventService;
+    private final OutboxService outboxService;
 
-    public AccountService(AccountRepository accountRepository) {
+    public AccountService(AccountRepository accountRepository, EntityManager entityManager, AccountCache accountCache,
+                          CustomerAccountSummaryService summaryService, AccountIdAllocator accountIdAllocator,
+                          AccountValidator accountValidator, ProcessedEventService processedEventService,
+                          OutboxService outboxService) {
         this.accountRepository = accountRepository;
-        this.random = new Random();
+        this.entityManager = entityManager;
+        this.accountCache = accountCache;
+        this.summaryService = summaryService;
+        this.accountIdAllocator = accountIdAllocator;
+        this.accountValidator = accountValidator;
+        this.processedEventService = processedEventService;
+        this.outboxService = outboxService;
     }
 
     @Transactional
     public AccountDTO createAccount(AccountDTO account) {
-        validateAccountId(account.getId(), account.getCustomerId());
-        validateAccountLimitForCustomer(account.getCustomerId());
-        validateSalaryAccountType(account.getCustomerId(), account.getType());
-        isValidAccountType(account.getType());
+        accountValidator.requireValid(accountValidator.validateForCreate(account));
+        Account newAccount = AccountMapper.toEntity(account);
+        summaryService.reserve(newAccount.getCustomerId(), newAccount.getType());
 
-        Account savedAccount = accountRepository.save(AccountMapper.toEntity(account));
+        Account savedAccount = insert(newAccount);
+        outboxService.record(AccountEventType.CREATED, savedAccount);
+        accountIdAllocator.markUsed(savedAccount.getId());
+        accountCache.evict(savedAccount.getId(), savedAccount.getCustomerId());
         log.debug("Account created with values {}", savedAccount);
         return AccountMapper.toDTO(savedAccount);
     }
 
+    /**
+     * Cached; concurrent misses for the same id share one query.
+     */
     public AccountDTO getAccountById(Long id) {
-        Account account = accountRepository.findById(id).orElseThrow(() -> new AccountNotFoundException(id));
-        return AccountMapper.toDTO(account);
+        return accountCache.getOrLoad(id, () -> AccountMapper.toDTO(
+                accountRepository.findById(id).orElseThrow(() -> new AccountNotFoundException(id))));
+    }
+
+    public AccountPageDTO getAccounts(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Long afterId = AccountCursor.decode(cursor);
+
+        // fetch one extra row to know whether another page exists without a COUNT query
+        List<Account> accounts = accountRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        boolean hasNext = accounts.size() > pageSize;
+        List<Account> page = hasNext ? accounts.subList(0, pageSize) : accounts;
+
+        String nextCursor = hasNext ? AccountCursor.encode(page.get(page.size() - 1).getId()) : null;
+        return new AccountPageDTO(page.stream().map(AccountMapper::toDTO).toList(), nextCursor);
     }
 
-    public List<AccountDTO> getAllAccounts() {
-        List<Account> accounts = accountRepository.findAll();
-        return accounts.stream().map(AccountMapper::toDTO).toList();
+    /**
+     * Accounts of the customer ordered by id, read with a DTO projection so no entity is loaded or mapped.
+     * An unknown customer simply has no accounts. Cached like single accounts, with concurrent misses sharing
+     * one query.
+     */
+    public List<AccountDTO> getAccountsByCustomerId(Long customerId) {
+        return accountCache.getOrLoadCustomerAccounts(customerId, () -> accountRepository.findDTOsByCustomerId(customerId));
     }
+
+    @Transactional(readOnly = true)
+    public void streamAllAccounts(Consumer<AccountDTO> consumer) {
+        try (Stream<Account> accounts = accountRepository.streamAll()) {
+            accounts.forEach(account -> {
+                consumer.accept(AccountMapper.toDTO(account));
+                // keep the persistence context from growing with the table
+                entityManager.detach(account);
+            });
+        }
+    }
+
     @Transactional
     public AccountDTO updateAccount(Long id, AccountDTO accountDetails) {
-        validateSalaryAccountType(accountDetails.getCustomerId(), accountDetails.getType());
-        isValidAccountType(accountDetails.getType());
+        accountValidator.requireValid(accountValidator.validateForUpdate(accountDetails));
         Account account = accountRepository.findById(id).orElseThrow(() -> new AccountNotFoundException(id));
-        account.setBalance(accountDetails.getBalance());
+        AccountType type = AccountType.fromName(accountDetails.getType());
+        summaryService.changeType(account.getCustomerId(), account.getType(), type);
+        account.setBalanceMinor(toMinorUnits(accountDetails.getBalance()));
         account.setStatus(accountDetails.getStatus());
-        account.setType(AccountType.valueOf(accountDetails.getType().toUpperCase()));
+        account.setType(type);
 
         Account savedAccount = accountRepository.save(account);
+        outboxService.record(AccountEventType.UPDATED, savedAccount);
+        accountCache.evict(id, account.getCustomerId());
         log.debug("Account updated with values {}", savedAccount);
         return AccountMapper.toDTO(account);
     }
+    /**
+     * Creates every valid account of the batch in one transaction and reports the outcome per item.
+     * Existing ids and per-customer summaries are pre-loaded with one query each, and the inserts go out
+     * through Hibernate JDBC batching.
+     */
+    @Transactional
+    public List<BatchItemResultDTO> createAccounts(List<AccountDTO> requests) {
+        validateBatchSize(requests);
+        Set<Long> existingIds = new HashSet<>(accountRepository.findExistingIds(
+                requests.stream().map(AccountDTO::getId).filter(Objects::nonNull).toList()));
+        Map<Long, CustomerAccountSummary> summaries = summaryService.lockAll(
+                requests.stream().map(AccountDTO::getCustomerId).filter(Objects::nonNull).collect(Collectors.toSet()));
+
+        List<BatchItemResultDTO> results = new ArrayList<>(requests.size());
+        List<Account> accounts = new ArrayList<>(requests.size());
+        for (AccountDTO request : requests) {
+            AccountValidationError error = accountValidator.validateForCreate(request);
+            if (error != null) {
+                results.add(new BatchItemResultDTO(request.getId(), HttpStatus.BAD_REQUEST.value(), error.getMessage(), null));
+                continue;
+            }
+            try {
+                if (!existingIds.add(request.getId())) {
+                    results.add(new BatchItemResultDTO(request.getId(), HttpStatus.CONFLICT.value(), "Account already exists.", null));
+                    continue;
+                }
+                Account account = AccountMapper.toEntity(request);
+                CustomerAccountSummary summary = summaries.get(account.getCustomerId());
+                summaryService.validate(summary, account.getType());
+                summaryService.add(summary, account.getType());
+                accounts.add(account);
+                results.add(new BatchItemResultDTO(request.getId(), HttpStatus.CREATED.value(), null, AccountMapper.toDTO(account)));
+            } catch (InvalidAccountTypeException | MaxAccountsReachedException e) {
+                results.add(new BatchItemResultDTO(request.getId(), HttpStatus.BAD_REQUEST.value(), e.getMessage(), null));
+            }
+        }
+
+        accountRepository.saveAll(accounts);
+        outboxService.recordAll(AccountEventType.CREATED, accounts);
+        accounts.forEach(account -> {
+            accountIdAllocator.markUsed(account.getId());
+            accountCache.evict(account.getId(), account.getCustomerId());
+        });
+        log.debug("{} of {} accounts created in batch", accounts.size(), requests.size());
+        return results;
+    }
+
+    /**
+     * Applies every valid update of the batch in one transaction and reports the outcome per item.
+     * Targets are loaded with one query and flushed as batched UPDATEs by dirty checking.
+     */
+    @Transactional
+    public List<BatchItemResultDTO> updateAccounts(List<AccountDTO> requests) {
+        validateBatchSize(requests);
+        Map<Long, Account> accounts = accountRepository.findAllById(
+                        requests.stream().map(AccountDTO::getId).filter(Objects::nonNull).toList())
+                .stream().collect(Collectors.toMap(Account::getId, Function.identity()));
+        Map<Long, CustomerAccountSummary> summaries = summaryService.lockAll(accounts.values().stream()
+                .map(Account::getCustomerId).collect(Collectors.toSet()));
+
+        List<BatchItemResultDTO> results = new ArrayList<>(requests.size());
+        for (AccountDTO request : requests) {
+            Account account = request.getId() == null ? null : accounts.get(request.getId());
+            if (account == null) {
+                results.add(new BatchItemResultDTO(request.getId(), HttpStatus.NOT_FOUND.value(),
+                        new AccountNotFoundException(request.getId()).getMessage(), null));
+                continue;
+            }
+            AccountValidationError error = accountValidator.validateForUpdate(request);
+            if (error != null) {
+                results.add(new BatchItemResultDTO(request.getId(), HttpStatus.BAD_REQUEST.value(), error.getMessage(), null));
+                continue;
+            }
+            AccountType type = AccountType.fromName(request.getType());
+            try {
+                summaryService.changeType(summaries.get(account.getCustomerId()), account.getType(), type);
+                account.setBalanceMinor(toMinorUnits(request.getBalance()));
+                account.setStatus(request.getStatus());
+                account.setType(type);
+                outboxService.record(AccountEventType.UPDATED, account);
+                accountCache.evict(account.getId(), account.getCustomerId());
+                results.add(new BatchItemResultDTO(account.getId(), HttpStatus.OK.value(), null, AccountMapper.toDTO(account)));
+            } catch (InvalidAccountTypeException e) {
+                results.add(new BatchItemResultDTO(request.getId(), HttpStatus.BAD_REQUEST.value(), e.getMessage(), null));
+            }
+        }
+        log.debug("Batch of {} account updates applied", requests.size());
+        return results;
+    }
+
+    /**
+     * Adds the amount to the balance.
+     */
+    @Transactional
+    public void credit(Long id, BigDecimal amount) {
+        postBalanceChange(id, amount, false);
+    }
+
+    /**
+     * Takes the amount from the balance, failing with {@link InsufficientFundsException} if it would go
+     * below zero.
+     */
+    @Transactional
+    public void debit(Long id, BigDecimal amount) {
+        postBalanceChange(id, amount, true);
+    }
+
     @Transactional
     public void deleteAccount(Long id) {
         Account account = accountRepository.findById(id).orElseThrow(() -> new AccountNotFoundException(id));
         accountRepository.delete(account);
+        outboxService.record(AccountEventType.DELETED, account);
+        summaryService.release(account.getCustomerId(), account.getType());
+        accountIdAllocator.release(id);
+        accountCache.evict(id, account.getCustomerId());
     }
     @Transactional
     public void createDefaultAccount(Long customerId) {
-        Account account = new Account();
-        account.setId(generateRandomAccountId(customerId));
-        account.setCustomerId(customerId);
-        account.setBalance(0.0);
-        account.setStatus("INACTIVE");
-        account.setType(AccountType.SAVINGS);
+        if (!processedEventService.markProcessed(customerId, CustomerEventType.CREATED)) {
+            log.debug("Customer created event for customer id {} already processed", customerId);
+            return;
+        }
+        Account account = newDefaultAccount(customerId);
+        summaryService.reserve(customerId, account.getType());
 
         accountRepository.save(account);
+        outboxService.record(AccountEventType.CREATED, account);
+        accountCache.evict(account.getId(), customerId);
         log.debug("Default account created with values {}", account);
     }
 
     @Transactional
-    public void deleteAllByCustomerId(Long customerId){
-        accountRepository.deleteAllByCustomerId(customerId);
-        log.debug("All accounts have been deleted for customer id {}", customerId);
-    }
+    public void createDefaultAccounts(List<Long> allCustomerIds) {
+        List<Long> customerIds = processedEventService.markAllProcessed(allCustomerIds, CustomerEventType.CREATED);
+        if (customerIds.isEmpty()) {
+            return;
+        }
+        List<Account> accounts = customerIds.stream().map(this::newDefaultAccount).toList();
+        Map<Long, CustomerAccountSummary> summaries = summaryService.lockAll(customerIds);
+        for (Account account : accounts) {
+            CustomerAccountSummary summary = summaries.get(account.getCustomerId());
+            summaryService.validate(summary, account.getType());
+            summaryService.add(summary, account.getType());
+        }
 
-    private void validateAccountId(Long accountId, Long customerId) {
-        String accountIdStr = Long.toString(accountId);
-        String customerIdStr = Long.toString(customerId);
+        accountRepository.saveAll(accounts);
+        outboxService.recordAll(AccountEventType.CREATED, accounts);
+        accounts.forEach(account -> accountCache.evict(account.getId(), account.getCustomerId()));
+        log.debug("{} default accounts created", accounts.size());
+    }
 
-        if (!accountIdStr.matches("\\d{10}")) {
-            throw new InvalidAccountIdException("Account ID must be 10 digits.");
+    /**
+     * Deletes every account of the customer with one bulk DELETE, see {@link #deleteAccountsOf}.
+     *
+     * @return the number of accounts deleted, 0 if the event had already been processed
+     */
+    @Transactional
+    public int deleteAllByCustomerId(Long customerId){
+        if (!processedEventService.markProcessed(customerId, CustomerEventType.DELETED)) {
+            log.debug("Customer deleted event for customer id {} already processed", customerId);
+            return 0;
         }
+        int deleted = deleteAccountsOf(List.of(customerId));
+        summaryService.removeAll(List.of(customerId));
+        accountIdAllocator.forget(List.of(customerId));
+        accountCache.evictCustomer(customerId);
+        log.debug("{} accounts have been deleted for customer id {}", deleted, customerId);
+        return deleted;
+    }
 
-        if (!accountIdStr.startsWith(customerIdStr)) {
-            throw new InvalidAccountIdException("The first 7 digits of the Account ID must match the Customer ID.");
+    /**
+     * Deletes every account of the customers with one bulk DELETE for the whole batch.
+     *
+     * @return the number of accounts deleted
+     */
+    @Transactional
+    public int deleteAllByCustomerIds(List<Long> allCustomerIds) {
+        List<Long> customerIds = processedEventService.markAllProcessed(allCustomerIds, CustomerEventType.DELETED);
+        if (customerIds.isEmpty()) {
+            return 0;
         }
+        int deleted = deleteAccountsOf(customerIds);
+        summaryService.removeAll(customerIds);
+        accountIdAllocator.forget(customerIds);
+        accountCache.evictCustomers(customerIds);
+        log.debug("{} accounts have been deleted for {} customers", deleted, customerIds.size());
+        return deleted;
     }
 
-    private void validateAccountLimitForCustomer(Long customerId) {
-        long existingAccountsCount = accountRepository.countByCustomerId(customerId);
-        if (existingAccountsCount >= 10) {
-            throw new MaxAccountsReachedException("A customer can have up to 10 accounts.");
+    /**
+     * Locks the customers' accounts, records a DELETED event for each and deletes exactly those ids, so an
+     * account created or deleted concurrently can never be deleted without its event or evented twice.
+     */
+    private int deleteAccountsOf(List<Long> customerIds) {
+        List<AccountRepository.AccountOwner> owners = accountRepository.findOwnersWithLockByCustomerIdIn(customerIds);
+        if (owners.isEmpty()) {
+            return 0;
         }
+        outboxService.recordDeleted(owners);
+        return accountRepository.deleteAllByIdIn(owners.stream().map(AccountRepository.AccountOwner::getId).toList());
     }
 
-    private void validateSalaryAccountType(Long customerId, String sAccountType) {
-        AccountType accountType = AccountType.valueOf(sAccountType.toUpperCase());
-        if (accountType.equals(AccountType.SALARY)) {
-            long salaryAccountsCount = accountRepository.countByCustomerIdAndType(customerId, AccountType.SALARY);
-            if (salaryAccountsCount > 0) {
-                throw new InvalidAccountTypeException("Only one salary account is allowed per customer.");
+    /**
+     * Applies the change as one conditional UPDATE rather than a read-modify-write. The outbox row goes in
+     * first and the UPDATE last, so a hot account's row lock is held only from that statement to the commit
+     * instead of for the whole transaction.
+     */
+    private void postBalanceChange(Long id, BigDecimal amount, boolean debit) {
+        accountValidator.requireValid(accountValidator.validateAmount(amount));
+        long delta = debit ? -Money.toMinorUnits(amount) : Money.toMinorUnits(amount);
+
+        Long customerId = customerIdOf(id);
+        outboxService.recordBalanceChange(id, customerId, delta);
+        if (accountRepository.applyBalanceDelta(id, delta) == 0) {
+            if (!accountRepository.existsById(id)) {
+                throw new AccountNotFoundException(id);
             }
+            throw new InsufficientFundsException(id);
         }
+        accountCache.evict(id, customerId);
+        log.debug("Balance of account {} changed by {} minor units", id, delta);
     }
 
-    public void isValidAccountType(String sAccountType) {
+    private Long customerIdOf(Long id) {
+        // an account never changes customer, so a cached copy is good enough
+        AccountDTO cached = accountCache.get(id);
+        if (cached != null) {
+            return cached.getCustomerId();
+        }
+        return accountRepository.findCustomerIdById(id).orElseThrow(() -> new AccountNotFoundException(id));
+    }
+
+    /**
+     * Inserts the account right away so a taken id surfaces here as {@link AccountAlreadyExistsException}.
+     * Pending writes are flushed first, so any other constraint violation is not mistaken for a taken id.
+     */
+    private Account insert(Account account) {
+        accountRepository.flush();
         try {
-            Enum.valueOf(AccountType.class, sAccountType);
-        } catch (IllegalArgumentException e) {
-            throw new InvalidAccountTypeException("Invalid Account Type");
+            return accountRepository.saveAndFlush(account);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateKey(e)) {
+                throw new AccountAlreadyExistsException(account.getId());
+            }
+            throw e;
         }
     }
 
-    private Long generateRandomAccountId(Long customerId) {
-        return Long.parseLong(customerId + String.valueOf(100 + random.nextInt(900)));
+    private static boolean isDuplicateKey(DataIntegrityViolationException e) {
+        return e.getMostSpecificCause() instanceof SQLException sqlException
+                && SQL_STATE_TRANSLATOR.translate("insert account", null, sqlException) instanceof DuplicateKeyException;
+    }
+
+    private static long toMinorUnits(BigDecimal balance) {
+        return balance == null ? 0 : Money.toMinorUnits(balance);
+    }
+
+    private void validateBatchSize(List<AccountDTO> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new BatchSizeExceededException("A batch can contain up to " + MAX_BATCH_SIZE + " accounts.");
+        }
+    }
+
+    private Account newDefaultAccount(Long customerId) {
+        Account account = new Account();
+        account.setId(accountIdAllocator.allocate(customerId));
+        account.setCustomerId(customerId);
+        account.setBalanceMinor(0);
+        account.setStatus("INACTIVE");
+        account.setType(AccountType.SAVINGS);
+        return account;
     }
 }
@@ -0,0 +1,112 @@
+package com.digitinary.accountservice.service;
+
+import com.digitinary.accountservice.exception.InvalidAccountIdException;
+import com.digitinary.accountservice.exception.InvalidAccountTypeException;
+import com.digitinary.accountservice.exception.InvalidAmountException;
+import com.digitinary.accountservice.model.AccountType;
+import com.digitinary.accountservice.model.AccountValidationError;
+import com.digitinary.accountservice.model.Money;
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Validates account requests without allocating: ids are checked arithmetically and types are resolved
+ * through {@link AccountType#fromName(String)}. Every check returns an {@link AccountValidationError}, or
+ * {@code null} when the input is valid, so callers that collect errors never pay for an exception.
+ */
+@Component
+public class AccountValidator {
+
+    static final int ACCOUNT_ID_DIGITS = 10;
+
+    private static final long MIN_ACCOUNT_ID = 1_000_000_000L;
+    private static final long MAX_ACCOUNT_ID = 9_999_999_999L;
+    private static final long[] POWERS_OF_TEN = new long[ACCOUNT_ID_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    public AccountValidationError validateForCreate(AccountDTO account) {
+        AccountValidationError error = validateAccountId(account.getId(), account.getCustomerId());
+        if (error == null) {
+            error = validateAccountType(account.getType());
+        }
+        return error != null ? error : validateBalance(account.getBalance());
+    }
+
+    public AccountValidationError validateForUpdate(AccountDTO account) {
+        AccountValidationError error = validateAccountType(account.getType());
+        return error != null ? error : validateBalance(account.getBalance());
+    }
+
+    /**
+     * A balance may be omitted, meaning zero, but must otherwise be representable in minor units.
+     */
+    public AccountValidationError validateBalance(BigDecimal balance) {
+        return balance == null || Money.isExact(balance) ? null : AccountValidationError.INVALID_AMOUNT;
+    }
+
+    /**
+     * Checks the amount of a credit or debit.
+     */
+    public AccountValidationError validateAmount(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            return AccountValidationError.NON_POSITIVE_AMOUNT;
+        }
+        return Money.isExact(amount) ? null : AccountValidationError.INVALID_AMOUNT;
+    }
+
+    /**
+     * Checks that the account id has exactly 10 digits and starts with the digits of the customer id.
+     */
+    public AccountValidationError validateAccountId(Long accountId, Long customerId) {
+        if (accountId == null || customerId == null) {
+            return AccountValidationError.ACCOUNT_ID_REQUIRED;
+        }
+        long id = accountId;
+        if (id < MIN_ACCOUNT_ID || id > MAX_ACCOUNT_ID) {
+            return AccountValidationError.INVALID_ACCOUNT_ID_LENGTH;
+        }
+        long customer = customerId;
+        int customerDigits = digits(customer);
+        if (customer <= 0 || customerDigits > ACCOUNT_ID_DIGITS
+                || id / POWERS_OF_TEN[ACCOUNT_ID_DIGITS - customerDigits] != customer) {
+            return AccountValidationError.ACCOUNT_ID_CUSTOMER_MISMATCH;
+        }
+        return null;
+    }
+
+    public AccountValidationError validateAccountType(String type) {
+        return AccountType.fromName(type) == null ? AccountValidationError.INVALID_ACCOUNT_TYPE : null;
+    }
+
+    /**
+     * Throws the exception the REST layer maps to 400 for the given error, if there is one.
+     */
+    public void requireValid(AccountValidationError error) {
+        if (error == null) {
+            return;
+        }
+        if (error == AccountValidationError.INVALID_ACCOUNT_TYPE) {
+            throw new InvalidAccountTypeException(error.getMessage());
+        }
+        if (error == AccountValidationError.INVALID_AMOUNT || error == AccountValidationError.NON_POSITIVE_AMOUNT) {
+            throw new InvalidAmountException(error.getMessage());
+        }
+        throw new InvalidAccountIdException(error.getMessage());
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,179 @@
+package com.digitinary.accountservice.service;
+
+import com.digitinary.accountservice.entity.CustomerAccountSummary;
+import com.digitinary.accountservice.exception.InvalidAccountTypeException;
+import com.digitinary.accountservice.exception.MaxAccountsReachedException;
+import com.digitinary.accountservice.model.AccountType;
+import com.digitinary.accountservice.repository.AccountRepository;
+import com.digitinary.accountservice.repository.CustomerAccountSummaryRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maintains one {@link CustomerAccountSummary} row per customer so the account limit and the single
+ * salary account rule are checked with a keyed conditional update instead of COUNT queries.
+ * The conditional update also row-locks the summary until commit, which serialises concurrent creates
+ * for the same customer. Rows are built lazily from the account table the first time a customer is seen.
+ */
+@Slf4j
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class CustomerAccountSummaryService {
+
+    public static final int MAX_ACCOUNTS_PER_CUSTOMER = 10;
+
+    private final CustomerAccountSummaryRepository summaryRepository;
+    private final AccountRepository accountRepository;
+    private final EntityManager entityManager;
+
+    public CustomerAccountSummaryService(CustomerAccountSummaryRepository summaryRepository,
+                                         AccountRepository accountRepository, EntityManager entityManager) {
+        this.summaryRepository = summaryRepository;
+        this.accountRepository = accountRepository;
+        this.entityManager = entityManager;
+    }
+
+    public void reserve(Long customerId, AccountType type) {
+        boolean salary = type == AccountType.SALARY;
+        int updated = salary
+                ? summaryRepository.incrementAccountCountWithSalary(customerId, MAX_ACCOUNTS_PER_CUSTOMER)
+                : summaryRepository.incrementAccountCount(customerId, MAX_ACCOUNTS_PER_CUSTOMER);
+        if (updated == 1) {
+            return;
+        }
+
+        // either a rule is violated or the customer has no summary yet; re-read under lock to tell which
+        CustomerAccountSummary summary = lock(customerId);
+        validate(summary, type);
+        add(summary, type);
+        detach(summary);
+    }
+
+    public void release(Long customerId, AccountType type) {
+        int updated = type == AccountType.SALARY
+                ? summaryRepository.decrementAccountCountWithSalary(customerId)
+                : summaryRepository.decrementAccountCount(customerId);
+        if (updated == 0) {
+            log.debug("No account summary to release for customer id {}", customerId);
+        }
+    }
+
+    public void changeType(Long customerId, AccountType from, AccountType to) {
+        if (from == to) {
+            return;
+        }
+        if (from == AccountType.SALARY) {
+            summaryRepository.updateSalaryAccount(customerId, false);
+            return;
+        }
+        if (to == AccountType.SALARY && summaryRepository.updateSalaryAccount(customerId, true) == 0) {
+            CustomerAccountSummary summary = lock(customerId);
+            validateSalary(summary);
+            summary.setSalaryAccount(true);
+            detach(summary);
+        }
+    }
+
+    /**
+     * Loads and write-locks the summaries of several customers with one query, creating the missing ones
+     * from a single grouped count over the account table. Callers validate with {@link #validate} and
+     * apply changes with {@link #add}; dirty checking flushes them with the surrounding transaction.
+     */
+    public Map<Long, CustomerAccountSummary> lockAll(Collection<Long> customerIds) {
+        Map<Long, CustomerAccountSummary> summaries = new HashMap<>();
+        summaryRepository.findAllByCustomerIdIn(customerIds)
+                .forEach(summary -> summaries.put(summary.getCustomerId(), summary));
+
+        var missing = customerIds.stream().filter(customerId -> !summaries.containsKey(customerId)).distinct().toList();
+        if (!missing.isEmpty()) {
+            Map<Long, CustomerAccountSummary> counted = new HashMap<>();
+            missing.forEach(customerId -> counted.put(customerId, new CustomerAccountSummary(customerId, 0, false)));
+            accountRepository.countGroupedByCustomerId(missing).forEach(count -> {
+                CustomerAccountSummary summary = counted.get(count.getCustomerId());
+                summary.setAccountCount(count.getAccountCount().intValue());
+                summary.setSalaryAccount(count.getSalaryAccountCount() > 0);
+            });
+            counted.values().forEach(summary -> summaryRepository.insertIfAbsent(summary.getCustomerId(),
+                    summary.getAccountCount(), summary.isSalaryAccount()));
+            // a concurrent create may have inserted some of them first; lock whichever rows won
+            summaryRepository.findAllByCustomerIdIn(missing)
+                    .forEach(summary -> summaries.put(summary.getCustomerId(), summary));
+        }
+        return summaries;
+    }
+
+    /**
+     * In-memory counterpart of {@link #changeType(Long, AccountType, AccountType)} for summaries obtained
+     * from {@link #lockAll}.
+     */
+    public void changeType(CustomerAccountSummary summary, AccountType from, AccountType to) {
+        if (from == to) {
+            return;
+        }
+        if (to == AccountType.SALARY) {
+            validateSalary(summary);
+        }
+        summary.setSalaryAccount(to == AccountType.SALARY);
+    }
+
+    public void removeAll(Collection<Long> customerIds) {
+        summaryRepository.deleteAllByCustomerIds(customerIds);
+    }
+
+    public void validate(CustomerAccountSummary summary, AccountType type) {
+        if (summary.getAccountCount() >= MAX_ACCOUNTS_PER_CUSTOMER) {
+            throw new MaxAccountsReachedException("A customer can have up to 10 accounts.");
+        }
+        if (type == AccountType.SALARY) {
+            validateSalary(summary);
+        }
+    }
+
+    public void add(CustomerAccountSummary summary, AccountType type) {
+        summary.setAccountCount(summary.getAccountCount() + 1);
+        if (type == AccountType.SALARY) {
+            summary.setSalaryAccount(true);
+        }
+    }
+
+    private void validateSalary(CustomerAccountSummary summary) {
+        if (summary.isSalaryAccount()) {
+            throw new InvalidAccountTypeException("Only one salary account is allowed per customer.");
+        }
+    }
+
+    /**
+     * The fast paths update summaries through JPQL, which bypasses the persistence context, so a managed
+     * copy left behind would go stale and could later be read back by the locking lookup.
+     */
+    private void detach(CustomerAccountSummary summary) {
+        entityManager.flush();
+        entityManager.detach(summary);
+    }
+
+    /**
+     * Write-locks the summary, creating it first if the customer has none. The row is created with an insert
+     * that tolerates a concurrent create of the same row and then read under lock, so racing first creates
+     * serialise on it like later ones instead of one of them failing on the duplicate key.
+     */
+    private CustomerAccountSummary lock(Long customerId) {
+        return summaryRepository.findWithLockByCustomerId(customerId).orElseGet(() -> {
+            initialize(customerId);
+            return summaryRepository.findWithLockByCustomerId(customerId).orElseThrow();
+        });
+    }
+
+    private void initialize(Long customerId) {
+        long accountCount = accountRepository.countByCustomerId(customerId);
+        boolean salaryAccount = accountRepository.countByCustomerIdAndType(customerId, AccountType.SALARY) > 0;
+        log.debug("Initializing account summary for customer id {} with {} accounts", customerId, accountCount);
+        summaryRepository.insertIfAbsent(customerId, (int) accountCount, salaryAccount);
+    }
+}
@@ -0,0 +1,81 @@
+package com.digitinary.accountservice.service;
+
+import com.digitinary.accountservice.entity.Account;
+import com.digitinary.accountservice.entity.OutboxEvent;
+import com.digitinary.accountservice.event.model.AccountEvent;
+import com.digitinary.accountservice.event.model.AccountEventType;
+import com.digitinary.accountservice.model.Money;
+import com.digitinary.accountservice.repository.AccountRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Writes account events to the {@link OutboxEvent} table. It must run inside the transaction of the change
+ * being described, so an event is stored exactly when the change commits; {@code AccountEventRelay}
+ * publishes it afterwards.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final EntityManager entityManager;
+
+    public OutboxService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public void record(AccountEventType type, Account account) {
+        record(type, account, Instant.now());
+    }
+
+    public void recordAll(AccountEventType type, Collection<Account> accounts) {
+        Instant now = Instant.now();
+        accounts.forEach(account -> record(type, account, now));
+    }
+
+    /**
+     * Records the deletion of accounts that were removed without being loaded.
+     */
+    public void recordDeleted(Collection<AccountRepository.AccountOwner> owners) {
+        Instant now = Instant.now();
+        for (AccountRepository.AccountOwner owner : owners) {
+            store(new AccountEvent(AccountEventType.DELETED, owner.getId(), owner.getCustomerId(),
+                    null, null, null, null, now));
+        }
+    }
+
+    public void recordBalanceChange(Long accountId, Long customerId, long deltaMinor) {
+        store(new AccountEvent(AccountEventType.BALANCE_CHANGED, accountId, customerId, null, null, null,
+                Money.fromMinorUnits(deltaMinor), Instant.now()));
+    }
+
+    private void record(AccountEventType type, Account account, Instant occurredAt) {
+        store(new AccountEvent(type, account.getId(), account.getCustomerId(),
+                Money.fromMinorUnits(account.getBalanceMinor()), account.getStatus(),
+                account.getType() == null ? null : account.getType().name(), null, occurredAt));
+    }
+
+    private void store(AccountEvent event) {
+        try {
+            entityManager.persist(new OutboxEvent(event.getEventType(), event.getAccountId(),
+                    OBJECT_MAPPER.writeValueAsString(event), event.getOccurredAt()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Account event could not be serialized", e);
+        }
+    }
+}
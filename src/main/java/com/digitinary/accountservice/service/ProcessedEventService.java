@@ -0,0 +1,130 @@
+package com.digitinary.accountservice.service;
+
+import com.digitinary.accountservice.entity.ProcessedEvent;
+import com.digitinary.accountservice.event.model.CustomerEventType;
+import com.digitinary.accountservice.repository.ProcessedEventRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Makes customer event processing idempotent. An event is recorded in the {@link ProcessedEvent} table in the
+ * same transaction that applies it, so a redelivery after a crash finds the record and is skipped, and two
+ * consumers racing on the same event cannot both commit. Recently processed events are also kept in a
+ * bounded in-memory window, which turns the common redelivery into a no-op without a query.
+ */
+@Slf4j
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class ProcessedEventService {
+
+    private static final int EVENT_TYPES = CustomerEventType.values().length;
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final EntityManager entityManager;
+    private final Duration retention;
+    private final Cache<Long, Boolean> window;
+
+    public ProcessedEventService(ProcessedEventRepository processedEventRepository, EntityManager entityManager,
+                                 @Value("${events.dedup.window-size:100000}") long windowSize,
+                                 @Value("${events.dedup.window-ttl:1h}") Duration windowTtl,
+                                 @Value("${events.dedup.retention:7d}") Duration retention) {
+        this.processedEventRepository = processedEventRepository;
+        this.entityManager = entityManager;
+        this.retention = retention;
+        this.window = Caffeine.newBuilder()
+                .maximumSize(windowSize)
+                .expireAfterWrite(windowTtl)
+                .build();
+    }
+
+    /**
+     * Records the event as processed.
+     *
+     * @return {@code false} if it had already been processed, in which case the caller should skip it
+     */
+    public boolean markProcessed(Long customerId, CustomerEventType type) {
+        long key = windowKey(customerId, type);
+        if (window.getIfPresent(key) != null) {
+            return false;
+        }
+        if (processedEventRepository.existsById(new ProcessedEvent.Key(customerId, type))) {
+            window.put(key, Boolean.TRUE);
+            return false;
+        }
+        entityManager.persist(new ProcessedEvent(customerId, type, Instant.now()));
+        afterCommit(() -> window.put(key, Boolean.TRUE));
+        return true;
+    }
+
+    /**
+     * Batch form of {@link #markProcessed}: records every event not processed before, with one lookup for
+     * those missing from the window.
+     *
+     * @return the customer ids whose events still have to be applied, in their original order
+     */
+    public List<Long> markAllProcessed(Collection<Long> customerIds, CustomerEventType type) {
+        Set<Long> unseen = new HashSet<>();
+        for (Long customerId : customerIds) {
+            if (window.getIfPresent(windowKey(customerId, type)) == null) {
+                unseen.add(customerId);
+            }
+        }
+        if (!unseen.isEmpty()) {
+            for (Long processed : processedEventRepository.findProcessedCustomerIds(type, unseen)) {
+                unseen.remove(processed);
+                window.put(windowKey(processed, type), Boolean.TRUE);
+            }
+        }
+
+        List<Long> pending = new ArrayList<>(unseen.size());
+        Instant now = Instant.now();
+        for (Long customerId : customerIds) {
+            // remove() also drops duplicates within the batch
+            if (unseen.remove(customerId)) {
+                entityManager.persist(new ProcessedEvent(customerId, type, now));
+                pending.add(customerId);
+            }
+        }
+        afterCommit(() -> pending.forEach(customerId -> window.put(windowKey(customerId, type), Boolean.TRUE)));
+        return pending;
+    }
+
+    @Scheduled(cron = "${events.dedup.purge-cron:0 0 * * * *}")
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void purgeExpired() {
+        int purged = processedEventRepository.deleteProcessedBefore(Instant.now().minus(retention));
+        log.debug("Purged {} processed event records older than {}", purged, retention);
+    }
+
+    private static long windowKey(Long customerId, CustomerEventType type) {
+        return customerId * EVENT_TYPES + type.ordinal();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
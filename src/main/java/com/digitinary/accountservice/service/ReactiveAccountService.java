@@ -0,0 +1,68 @@
+package com.digitinary.accountservice.service;
+
+import com.digitinary.accountservice.cache.AccountCache;
+import com.digitinary.accountservice.exception.AccountNotFoundException;
+import com.digitinary.accountservice.model.AccountCursor;
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import com.digitinary.accountservice.model.dto.AccountPageDTO;
+import com.digitinary.accountservice.model.mapper.AccountMapper;
+import com.digitinary.accountservice.repository.ReactiveAccountRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Read-only counterpart of {@link AccountService} on R2DBC. Writes stay on the blocking service, which also
+ * keeps the shared {@link AccountCache} consistent.
+ */
+@Service
+public class ReactiveAccountService {
+
+    /** Rows requested from the driver at a time while streaming, bounding what is buffered ahead of the client. */
+    static final int STREAM_PREFETCH = 256;
+
+    private final ReactiveAccountRepository accountRepository;
+    private final AccountCache accountCache;
+
+    public ReactiveAccountService(ReactiveAccountRepository accountRepository, AccountCache accountCache) {
+        this.accountRepository = accountRepository;
+        this.accountCache = accountCache;
+    }
+
+    public Mono<AccountDTO> getAccountById(Long id) {
+        return accountCache.getOrLoadAsync(id, () -> accountRepository.findById(id).map(AccountMapper::toDTO))
+                .switchIfEmpty(Mono.error(() -> new AccountNotFoundException(id)));
+    }
+
+    public Flux<AccountDTO> getAccountsByCustomerId(Long customerId) {
+        return accountRepository.findByCustomerId(customerId).map(AccountMapper::toDTO);
+    }
+
+    public Mono<AccountPageDTO> getAccounts(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, AccountService.MAX_PAGE_SIZE));
+        return Mono.fromCallable(() -> AccountCursor.decode(cursor))
+                // fetch one extra row to know whether another page exists without a COUNT query
+                .flatMap(afterId -> accountRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1))
+                        .map(AccountMapper::toDTO)
+                        .collectList())
+                .map(accounts -> {
+                    boolean hasNext = accounts.size() > pageSize;
+                    List<AccountDTO> page = hasNext ? accounts.subList(0, pageSize) : accounts;
+                    String nextCursor = hasNext ? AccountCursor.encode(page.get(page.size() - 1).getId()) : null;
+                    return new AccountPageDTO(page, nextCursor);
+                });
+    }
+
+    /**
+     * Streams every account in id order. Demand from the subscriber is forwarded to the driver in chunks of
+     * {@link #STREAM_PREFETCH}, so a slow client slows the read instead of filling memory.
+     */
+    public Flux<AccountDTO> streamAllAccounts() {
+        return accountRepository.streamAll()
+                .limitRate(STREAM_PREFETCH)
+                .map(AccountMapper::toDTO);
+    }
+}
@@ -0,0 +1,46 @@
+-- Schema of the account database. The prod profile only validates the JPA mappings against it
+-- (spring.jpa.hibernate.ddl-auto=validate), so apply changes here before deploying mapping changes.
+
+create table account (
+    id bigint not null,
+    customer_id bigint,
+    balance_minor bigint not null,
+    status varchar(255),
+    type enum ('SALARY', 'SAVINGS', 'INVESTMENT'),
+    version bigint not null default 0,
+    primary key (id)
+) engine = InnoDB;
+
+create index idx_account_customer_id on account (customer_id, id);
+create index idx_account_customer_id_type on account (customer_id, type);
+
+create table customer_account_summary (
+    customer_id bigint not null,
+    account_count integer not null,
+    salary_account bit not null,
+    primary key (customer_id)
+) engine = InnoDB;
+
+create table processed_event (
+    customer_id bigint not null,
+    type enum ('CREATED', 'DELETED') not null,
+    processed_at datetime(6),
+    primary key (customer_id, type)
+) engine = InnoDB;
+
+create index idx_processed_event_processed_at on processed_event (processed_at);
+
+create table outbox_event (
+    id bigint not null,
+    event_type enum ('CREATED', 'UPDATED', 'DELETED', 'BALANCE_CHANGED'),
+    account_id bigint,
+    payload varchar(1024) not null,
+    created_at datetime(6),
+    primary key (id)
+) engine = InnoDB;
+
+create table outbox_event_seq (
+    next_val bigint
+) engine = InnoDB;
+
+insert into outbox_event_seq values (1);
@@ -0,0 +1,123 @@
+package com.digitinary.accountservice;
+
+import com.digitinary.accountservice.event.model.CustomerEvent;
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import com.digitinary.accountservice.model.dto.AccountPageDTO;
+import com.digitinary.accountservice.model.dto.AmountDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.api.ChannelAwareMessageListener;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the whole application over HTTP against the embedded H2 database, with the customer events handed
+ * straight to the listener adapters instead of coming from a broker: the listener containers never start and
+ * the outbox relay is off, so no RabbitMQ is needed. The same test runs in the native image with
+ * {@code mvn -PnativeTest test -Dtest=AccountServiceSmokeTest}, which is what checks the reachability metadata.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "ACTIVE_PROFILE=test",
+        "DB_USER=sa",
+        "DB_PASS=",
+        "MQ_HOST=localhost",
+        "MQ_PORT=5672",
+        "MQ_USER=guest",
+        "MQ_PASS=guest",
+        // own database: the test profile's one outlives the context and the slice tests connect to it differently
+        "spring.datasource.url=jdbc:h2:mem:smoke;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///smoke?options=DB_CLOSE_DELAY=-1",
+        "spring.rabbitmq.listener.simple.auto-startup=false",
+        "events.outbox.relay.enabled=false",
+        "logging.file.name="
+})
+@ActiveProfiles("test")
+class AccountServiceSmokeTest {
+
+    private static final long CUSTOMER_ID = 4242L;
+    private static final long ACCOUNT_ID = 4242000100L;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private RabbitListenerEndpointRegistry listenerRegistry;
+
+    @Autowired
+    private MessageConverter messageConverter;
+
+    @Value("${rabbitmq.queues.created}")
+    private String createdQueue;
+
+    @Value("${rabbitmq.queues.deleted}")
+    private String deletedQueue;
+
+    @Test
+    void accountLifecycle_shouldWorkThroughListenersAndEndpoints() throws Exception {
+        deliver(createdQueue, new CustomerEvent(CUSTOMER_ID, "Jane", "L-4242", "INDIVIDUAL", "Amman"));
+        assertEquals(1, customerAccounts().length);
+
+        AccountDTO created = restTemplate.postForObject("/accounts",
+                new AccountDTO(ACCOUNT_ID, CUSTOMER_ID, BigDecimal.ZERO, "ACTIVE", "INVESTMENT"), AccountDTO.class);
+        assertEquals(ACCOUNT_ID, created.getId());
+
+        ResponseEntity<AccountDTO> read = restTemplate.getForEntity("/accounts/" + ACCOUNT_ID, AccountDTO.class);
+        assertEquals(HttpStatus.OK, read.getStatusCode());
+        assertEquals("INVESTMENT", read.getBody().getType());
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfNoneMatch(read.getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_MODIFIED, restTemplate.exchange("/accounts/" + ACCOUNT_ID, HttpMethod.GET,
+                new HttpEntity<>(conditional), AccountDTO.class).getStatusCode());
+
+        AccountDTO credited = restTemplate.postForObject("/accounts/" + ACCOUNT_ID + "/credit",
+                new AmountDTO(new BigDecimal("25.50")), AccountDTO.class);
+        assertEquals(0, new BigDecimal("25.50").compareTo(credited.getBalance()));
+
+        restTemplate.put("/accounts/" + ACCOUNT_ID,
+                new AccountDTO(ACCOUNT_ID, CUSTOMER_ID, new BigDecimal("25.50"), "INACTIVE", "SAVINGS"));
+        AccountPageDTO page = restTemplate.getForObject("/accounts?size=10", AccountPageDTO.class);
+        assertTrue(page.getAccounts().stream().anyMatch(account ->
+                account.getId() == ACCOUNT_ID && "INACTIVE".equals(account.getStatus())));
+        assertEquals(2, customerAccounts().length);
+
+        restTemplate.delete("/accounts/" + ACCOUNT_ID);
+        assertEquals(HttpStatus.NOT_FOUND,
+                restTemplate.getForEntity("/accounts/" + ACCOUNT_ID, String.class).getStatusCode());
+
+        deliver(deletedQueue, new CustomerEvent(CUSTOMER_ID, "Jane", "L-4242", "INDIVIDUAL", "Amman"));
+        assertEquals(0, customerAccounts().length);
+    }
+
+    private AccountDTO[] customerAccounts() {
+        return restTemplate.getForObject("/customers/" + CUSTOMER_ID + "/accounts", AccountDTO[].class);
+    }
+
+    /**
+     * Hands the event, converted as the broker would deliver it, to the listener of the given queue.
+     */
+    private void deliver(String queue, CustomerEvent event) throws Exception {
+        AbstractMessageListenerContainer container = listenerRegistry.getListenerContainers().stream()
+                .map(AbstractMessageListenerContainer.class::cast)
+                .filter(candidate -> candidate.getQueueNames().length == 1 && candidate.getQueueNames()[0].equals(queue))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no listener for " + queue));
+        Message message = messageConverter.toMessage(event, new MessageProperties());
+        ((ChannelAwareMessageListener) container.getMessageListener()).onMessage(message, null);
+    }
+}
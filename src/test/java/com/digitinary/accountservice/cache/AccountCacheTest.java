@@ -0,0 +1,176 @@
+package com.digitinary.accountservice.cache;
+
+import com.digitinary.accountservice.exception.AccountNotFoundException;
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import com.digitinary.accountservice.model.dto.CacheStatsDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountCacheTest {
+
+    private final AccountCache accountCache = new AccountCache(100, Duration.ofMinutes(1), Duration.ZERO);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getAfterPut_shouldReturnCachedAccountAndCountHit() {
+        AccountDTO account = new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS");
+
+        assertNull(accountCache.get(1234567890L));
+        accountCache.put(account);
+
+        assertSame(account, accountCache.get(1234567890L));
+        CacheStatsDTO stats = accountCache.stats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    void evict_shouldRemoveOnlyThatAccount() {
+        accountCache.put(new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS"));
+        accountCache.put(new AccountDTO(1234567891L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS"));
+
+        accountCache.evict(1234567890L, 1234567L);
+
+        assertNull(accountCache.get(1234567890L));
+        assertNotNull(accountCache.get(1234567891L));
+    }
+
+    @Test
+    void evictCustomers_shouldRemoveEveryAccountOfThoseCustomers() {
+        accountCache.put(new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS"));
+        accountCache.put(new AccountDTO(1234568890L, 1234568L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS"));
+        accountCache.put(new AccountDTO(1234569890L, 1234569L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS"));
+
+        accountCache.evictCustomers(List.of(1234567L, 1234568L));
+
+        assertNull(accountCache.get(1234567890L));
+        assertNull(accountCache.get(1234568890L));
+        assertNotNull(accountCache.get(1234569890L));
+    }
+
+    @Test
+    void evictCustomers_afterAccountWasEvictedAndCachedAgain_shouldStillRemoveIt() {
+        AccountDTO account = new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS");
+        accountCache.put(account);
+        accountCache.evict(1234567890L, 1234567L);
+        accountCache.put(account);
+
+        accountCache.evictCustomer(1234567L);
+
+        assertNull(accountCache.get(1234567890L));
+    }
+
+    @Test
+    void getOrLoad_shouldCacheLoadedAccountButNotFailures() {
+        AccountDTO account = new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS");
+
+        assertThrows(AccountNotFoundException.class, () -> accountCache.getOrLoad(1234567890L, () -> {
+            throw new AccountNotFoundException(1234567890L);
+        }));
+        assertNull(accountCache.get(1234567890L));
+
+        assertSame(account, accountCache.getOrLoad(1234567890L, () -> account));
+        assertSame(account, accountCache.getOrLoad(1234567890L, () -> fail("should be cached")));
+    }
+
+    @Test
+    void getOrLoad_loadThatReadBeforeEviction_shouldNotStayCached() throws Exception {
+        AccountDTO stale = new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS");
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+
+        Future<AccountDTO> load = executor.submit(() -> accountCache.getOrLoad(1234567890L, () -> {
+            read.countDown();
+            await(written);
+            return stale;
+        }));
+        assertTrue(read.await(5, TimeUnit.SECONDS));
+        accountCache.evict(1234567890L, 1234567L);
+        written.countDown();
+
+        assertSame(stale, load.get(5, TimeUnit.SECONDS));
+        assertNull(accountCache.get(1234567890L));
+    }
+
+    @Test
+    void getOrLoad_loadThatReadBeforeCustomerEviction_shouldNotStayCached() throws Exception {
+        AccountDTO stale = new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS");
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch deleted = new CountDownLatch(1);
+
+        Future<AccountDTO> load = executor.submit(() -> accountCache.getOrLoad(1234567890L, () -> {
+            read.countDown();
+            await(deleted);
+            return stale;
+        }));
+        assertTrue(read.await(5, TimeUnit.SECONDS));
+        accountCache.evictCustomer(1234567L);
+        deleted.countDown();
+
+        load.get(5, TimeUnit.SECONDS);
+        assertNull(accountCache.get(1234567890L));
+    }
+
+    @Test
+    void getOrLoadAsync_loadThatReadBeforeEviction_shouldNotStayCached() throws Exception {
+        AccountDTO stale = new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS");
+        Sinks.One<AccountDTO> row = Sinks.one();
+
+        CompletableFuture<AccountDTO> load = accountCache.getOrLoadAsync(1234567890L, row::asMono).toFuture();
+        accountCache.evict(1234567890L, 1234567L);
+        row.tryEmitValue(stale);
+
+        assertSame(stale, load.get(5, TimeUnit.SECONDS));
+        assertNull(accountCache.get(1234567890L));
+        assertSame(stale, accountCache.getOrLoadAsync(1234567890L, () -> Mono.just(stale)).block());
+        assertSame(stale, accountCache.get(1234567890L));
+    }
+
+    @Test
+    void getOrLoadCustomerAccounts_loadThatReadBeforeEviction_shouldNotStayCached() throws Exception {
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+
+        Future<List<AccountDTO>> load = executor.submit(() -> accountCache.getOrLoadCustomerAccounts(1234567L, () -> {
+            read.countDown();
+            await(written);
+            return List.of();
+        }));
+        assertTrue(read.await(5, TimeUnit.SECONDS));
+        accountCache.evict(1234567890L, 1234567L);
+        written.countDown();
+
+        load.get(5, TimeUnit.SECONDS);
+        assertNull(accountCache.getCustomerAccounts(1234567L));
+        assertEquals(List.of(), accountCache.getOrLoadCustomerAccounts(1234567L, List::of));
+        assertNotNull(accountCache.getCustomerAccounts(1234567L));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
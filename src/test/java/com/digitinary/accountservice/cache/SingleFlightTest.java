@@ -0,0 +1,127 @@
+package com.digitinary.accountservice.cache;
+
+import com.digitinary.accountservice.exception.AccountNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentLoadsOfSameKey_shouldRunLoaderOnceAndShareResult() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = loadConcurrently(1L, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "account";
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("account", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, singleFlight.executedCount());
+        assertEquals(CALLERS - 1, singleFlight.sharedCount());
+        assertEquals((double) (CALLERS - 1) / CALLERS, singleFlight.dedupRatio());
+    }
+
+    @Test
+    void failedLoad_shouldRethrowSameExceptionToEveryCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AccountNotFoundException failure = new AccountNotFoundException(1L);
+
+        List<Future<String>> results = loadConcurrently(1L, () -> {
+            await(release);
+            throw failure;
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    @Test
+    void finishedOrForgottenLoad_shouldNotBeJoined() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.load(1L, () -> "first" + loads.incrementAndGet());
+        assertEquals("first2", singleFlight.load(1L, () -> "first" + loads.incrementAndGet()));
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> stale = executor.submit(() -> singleFlight.load(2L, () -> {
+            started.countDown();
+            await(release);
+            return "stale";
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        singleFlight.forget(2L);
+
+        assertEquals("fresh", singleFlight.load(2L, () -> "fresh"));
+        release.countDown();
+        assertEquals("stale", stale.get(5, TimeUnit.SECONDS));
+        assertEquals(0, singleFlight.sharedCount());
+    }
+
+    @Test
+    void bindTo_shouldRegisterLoadCountersAndDedupRatio() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        singleFlight.bindTo(registry, "accounts");
+
+        singleFlight.load(1L, () -> "account");
+
+        assertEquals(1, registry.get("cache.single.flight.loads").tags("cache", "accounts", "result", "executed")
+                .functionCounter().count());
+        assertEquals(0, registry.get("cache.single.flight.dedup.ratio").tag("cache", "accounts").gauge().value());
+    }
+
+    /**
+     * Starts every caller and returns once all but the leader are waiting on its load.
+     */
+    private List<Future<String>> loadConcurrently(Long key, Supplier<String> loader) throws InterruptedException {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.load(key, loader)));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.executedCount() + singleFlight.sharedCount() < CALLERS && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.digitinary.accountservice.config;
+
+import com.digitinary.accountservice.entity.Account;
+import com.digitinary.accountservice.entity.ProcessedEvent;
+import com.digitinary.accountservice.event.model.CustomerEvent;
+import com.digitinary.accountservice.model.AccountType;
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountServiceRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    AccountServiceRuntimeHintsTest() {
+        new AccountServiceRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void customerEvent_shouldBeBindableByJackson() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CustomerEvent.class)
+                .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(CustomerEvent.class.getMethod("setCustomerId", Long.class)).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(CustomerEvent.class.getMethod("getCustomerId")).test(hints));
+    }
+
+    @Test
+    void accountDTO_shouldExposeSelectNewConstructor() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection().onConstructor(AccountDTO.class.getConstructor(
+                Long.class, Long.class, long.class, String.class, AccountType.class, Long.class)).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(AccountDTO.class.getMethod("getBalance")).test(hints));
+    }
+
+    @Test
+    void entities_shouldBeInstantiableByHibernate() {
+        for (Class<?> type : AccountServiceRuntimeHints.ENTITY_TYPES) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type)
+                    .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                    .test(hints), type.getName());
+        }
+        assertTrue(AccountServiceRuntimeHints.ENTITY_TYPES.contains(Account.class));
+        assertTrue(AccountServiceRuntimeHints.ENTITY_TYPES.contains(ProcessedEvent.Key.class));
+    }
+}
@@ -0,0 +1,103 @@
+package com.digitinary.accountservice.config;
+
+import com.digitinary.accountservice.cache.AccountCache;
+import com.digitinary.accountservice.exception.AccountNotFoundException;
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import com.digitinary.accountservice.service.AccountIdAllocator;
+import com.digitinary.accountservice.service.AccountService;
+import com.digitinary.accountservice.service.AccountValidator;
+import com.digitinary.accountservice.service.CustomerAccountSummaryService;
+import com.digitinary.accountservice.service.OutboxService;
+import com.digitinary.accountservice.service.ProcessedEventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and the replica. Nothing replicates between them,
+ * which makes it visible where each read went.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.replica.jdbc-url=jdbc:h2:mem:routing-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.replica.driver-class-name=org.h2.Driver"
+})
+@Import({PersistenceConfig.class, AccountService.class, CustomerAccountSummaryService.class,
+        AccountIdAllocator.class, AccountCache.class, AccountValidator.class, ProcessedEventService.class,
+        OutboxService.class})
+class ReadWriteRoutingDataSourceTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    @Qualifier("dataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("create table if not exists account (id bigint primary key, customer_id bigint, " +
+                "balance_minor bigint not null, status varchar(255), type varchar(255), version bigint)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadWriteRoutingDataSource.unpin();
+        for (String table : List.of("account", "customer_account_summary", "outbox_event")) {
+            primary.execute("delete from " + table);
+        }
+        replica.execute("delete from account");
+    }
+
+    @Test
+    void writesGoToPrimaryAndReadOnlyReadsToReplica() {
+        accountService.createAccount(new AccountDTO(1234567001L, 1234567L, new BigDecimal("10.00"), "ACTIVE", "SAVINGS"));
+
+        assertEquals(1, primary.queryForObject("select count(*) from account", Integer.class));
+        assertEquals(0, replica.queryForObject("select count(*) from account", Integer.class));
+        assertThrows(AccountNotFoundException.class, () -> accountService.getAccountById(1234567001L));
+        assertTrue(accountService.getAccountsByCustomerId(1234567L).isEmpty());
+
+        replica.update("insert into account values (1234567001, 1234567, 900, 'ACTIVE', 'SAVINGS', 0)");
+        assertEquals(new BigDecimal("9.00"), accountService.getAccountById(1234567001L).getBalance());
+    }
+
+    @Test
+    void pinnedThreadReadsItsWritesFromPrimary() {
+        accountService.createAccount(new AccountDTO(1234567001L, 1234567L, new BigDecimal("10.00"), "ACTIVE", "SAVINGS"));
+
+        ReadWriteRoutingDataSource.pinToPrimary();
+
+        assertEquals(new BigDecimal("10.00"), accountService.getAccountById(1234567001L).getBalance());
+        assertEquals(1, accountService.getAccountsByCustomerId(1234567L).size());
+    }
+}
@@ -0,0 +1,65 @@
+package com.digitinary.accountservice.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesFilterTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final ReadYourWritesFilter filter =
+            new ReadYourWritesFilter(Duration.ofSeconds(5), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void write_shouldSetCookieAndPinItsOwnRequest() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean pinned = new AtomicBoolean();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/accounts"), response, recordPinning(pinned));
+
+        assertTrue(pinned.get());
+        assertFalse(ReadWriteRoutingDataSource.isPinnedToPrimary());
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertNotNull(cookie);
+        assertEquals(Long.toString(NOW.plusSeconds(5).toEpochMilli()), cookie.getValue());
+        assertEquals(5, cookie.getMaxAge());
+    }
+
+    @Test
+    void readWithLiveCookie_shouldBePinned() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/accounts/1234567890");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(NOW.toEpochMilli() + 1)));
+        AtomicBoolean pinned = new AtomicBoolean();
+
+        filter.doFilter(request, new MockHttpServletResponse(), recordPinning(pinned));
+
+        assertTrue(pinned.get());
+    }
+
+    @Test
+    void readWithoutOrWithExpiredCookie_shouldNotBePinned() throws Exception {
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/accounts/1234567890");
+        expired.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(NOW.toEpochMilli())));
+        AtomicBoolean pinned = new AtomicBoolean();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/accounts/1234567890"), new MockHttpServletResponse(), recordPinning(pinned));
+        assertFalse(pinned.get());
+        filter.doFilter(expired, new MockHttpServletResponse(), recordPinning(pinned));
+        assertFalse(pinned.get());
+    }
+
+    private static FilterChain recordPinning(AtomicBoolean pinned) {
+        return (request, response) -> pinned.set(ReadWriteRoutingDataSource.isPinnedToPrimary());
+    }
+}
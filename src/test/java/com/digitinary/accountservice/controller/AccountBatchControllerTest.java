@@ -0,0 +1,68 @@
+package com.digitinary.accountservice.controller;
+
+import com.digitinary.accountservice.exception.BatchSizeExceededException;
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import com.digitinary.accountservice.model.dto.BatchItemResultDTO;
+import com.digitinary.accountservice.service.AccountService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AccountBatchController.class)
+@AutoConfigureObservability(tracing = false)
+class AccountBatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AccountService accountService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void whenCreateAccountsBatch_thenStatusOkAndPerItemResults() throws Exception {
+        AccountDTO valid = new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS");
+        AccountDTO invalid = new AccountDTO(123L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS");
+        when(accountService.createAccounts(anyList())).thenReturn(List.of(
+                new BatchItemResultDTO(1234567890L, 201, null, valid),
+                new BatchItemResultDTO(123L, 400, "Account ID must be 10 digits.", null)));
+
+        mockMvc.perform(post("/accounts:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(valid, invalid))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].account.id").value(1234567890L))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].message").value("Account ID must be 10 digits."));
+    }
+
+    @Test
+    void whenUpdateAccountsBatchTooLarge_thenStatusBadRequest() throws Exception {
+        when(accountService.updateAccounts(anyList()))
+                .thenThrow(new BatchSizeExceededException("A batch can contain up to 1000 accounts."));
+
+        mockMvc.perform(put("/accounts:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -2,26 +2,35 @@ package com.digitinary.accountservice.controller;
 
 import com.digitinary.accountservice.entity.Account;
 import com.digitinary.accountservice.exception.AccountNotFoundException;
+import com.digitinary.accountservice.exception.InsufficientFundsException;
+import com.digitinary.accountservice.exception.InvalidCursorException;
 import com.digitinary.accountservice.model.dto.AccountDTO;
+import com.digitinary.accountservice.model.dto.AccountPageDTO;
 import com.digitinary.accountservice.service.AccountService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(AccountController.class)
+@AutoConfigureObservability(tracing = false)
 class AccountControllerTest {
 
     @Autowired
@@ -35,7 +44,7 @@ class AccountControllerTest {
 
     @Test
     void whenCreateAccount_thenStatusOkAndAccountCreated() throws Exception {
-        AccountDTO accountDTO = new AccountDTO(1234567890L, 1234567L, 1000.0, "ACTIVE", "SAVINGS");
+        AccountDTO accountDTO = new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS");
 
         when(accountService.createAccount(any(AccountDTO.class))).thenReturn(accountDTO);
 
@@ -56,7 +65,7 @@ class AccountControllerTest {
         AccountDTO account = new AccountDTO();
         account.setId(1234567890L);
         account.setCustomerId(1234567L);
-        account.setBalance(1000.0);
+        account.setBalance(new BigDecimal("1000.00"));
         account.setStatus("ACTIVE");
         account.setType("INVESTMENT");
         when(accountService.getAccountById(1234567890L)).thenReturn(account);
@@ -71,6 +80,44 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.type").value("INVESTMENT"));
     }
 
+    @Test
+    void whenGetAccountByIdWithMatchingETag_thenStatusNotModifiedWithoutBody() throws Exception {
+        AccountDTO account = new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS", 3L);
+        when(accountService.getAccountById(1234567890L)).thenReturn(account);
+
+        String etag = mockMvc.perform(get("/accounts/1234567890"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").doesNotExist())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/accounts/1234567890").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        account.setVersion(4L);
+        mockMvc.perform(get("/accounts/1234567890").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void whenGetAccountsPageWithMatchingETag_thenStatusNotModified() throws Exception {
+        AccountPageDTO page = new AccountPageDTO(List.of(
+                new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS", 0L)), null);
+        when(accountService.getAccounts(null, AccountService.DEFAULT_PAGE_SIZE)).thenReturn(page);
+
+        String etag = mockMvc.perform(get("/accounts"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/accounts").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        page.getAccounts().get(0).setBalance(new BigDecimal("999.99"));
+        mockMvc.perform(get("/accounts").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void whenGetNonExistingAccountById_thenStatusNotFound() throws Exception {
         Long accountId = 2482378964L;
@@ -82,20 +129,50 @@ class AccountControllerTest {
     }
 
     @Test
-    void whenGetAllAccounts_thenStatusOkAndAccountsReturned() throws Exception {
+    void whenGetAccountsPage_thenStatusOkAndPageReturned() throws Exception {
 
         AccountDTO account1 = new AccountDTO();
         account1.setId(1234567890L);
         AccountDTO account2 = new AccountDTO();
         account2.setId(2123456789L);
-        when(accountService.getAllAccounts()).thenReturn(Arrays.asList(account1, account2));
+        when(accountService.getAccounts(null, AccountService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new AccountPageDTO(Arrays.asList(account1, account2), "next"));
 
 
         mockMvc.perform(get("/accounts"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].id").value(1234567890L))
-                .andExpect(jsonPath("$[1].id").value(2123456789L));
+                .andExpect(jsonPath("$.accounts.length()").value(2))
+                .andExpect(jsonPath("$.accounts[0].id").value(1234567890L))
+                .andExpect(jsonPath("$.accounts[1].id").value(2123456789L))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void whenGetAccountsWithInvalidCursor_thenStatusBadRequest() throws Exception {
+        given(accountService.getAccounts("bad", 10)).willThrow(new InvalidCursorException("Invalid page cursor."));
+
+        mockMvc.perform(get("/accounts").param("cursor", "bad").param("size", "10"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenStreamAccounts_thenNdjsonLinesReturned() throws Exception {
+        AccountDTO account1 = new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS");
+        AccountDTO account2 = new AccountDTO(1234567891L, 1234567L, new BigDecimal("10.00"), "INACTIVE", "SALARY");
+        doAnswer(invocation -> {
+            Consumer<AccountDTO> consumer = invocation.getArgument(0);
+            consumer.accept(account1);
+            consumer.accept(account2);
+            return null;
+        }).when(accountService).streamAllAccounts(any());
+
+        MvcResult result = mockMvc.perform(get("/accounts/stream")).andExpect(request().asyncStarted()).andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(objectMapper.writeValueAsString(account1) + "\n"
+                        + objectMapper.writeValueAsString(account2) + "\n"));
     }
 
     @Test
@@ -104,7 +181,7 @@ class AccountControllerTest {
         AccountDTO account = new AccountDTO();
         account.setId(1234567890L);
         account.setCustomerId(1234567L);
-        account.setBalance(1500.0);
+        account.setBalance(new BigDecimal("1500.00"));
         account.setStatus("INACTIVE");
         account.setType("INVESTMENT");
         when(accountService.updateAccount(eq(1234567890L), any(AccountDTO.class))).thenReturn(account);
@@ -119,6 +196,33 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.type").value("INVESTMENT"));
     }
 
+    @Test
+    void whenCredit_thenStatusOkAndAccountWithNewBalanceReturned() throws Exception {
+        when(accountService.getAccountById(1234567890L))
+                .thenReturn(new AccountDTO(1234567890L, 1234567L, new BigDecimal("1025.50"), "ACTIVE", "SAVINGS"));
+
+        mockMvc.perform(post("/accounts/1234567890/credit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":25.50}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(1025.5));
+
+        verify(accountService).credit(1234567890L, new BigDecimal("25.50"));
+    }
+
+    @Test
+    void whenDebitMoreThanBalance_thenStatusUnprocessableEntity() throws Exception {
+        doThrow(new InsufficientFundsException(1234567890L))
+                .when(accountService).debit(1234567890L, new BigDecimal("5000.00"));
+
+        mockMvc.perform(post("/accounts/1234567890/debit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":5000.00}"))
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(accountService, never()).getAccountById(any());
+    }
+
     @Test
     void whenDeleteExistingAccount_thenStatusOk() throws Exception {
 
@@ -0,0 +1,58 @@
+package com.digitinary.accountservice.controller;
+
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import com.digitinary.accountservice.service.AccountService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CustomerAccountController.class)
+@AutoConfigureObservability(tracing = false)
+class CustomerAccountControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AccountService accountService;
+
+    @Test
+    void whenGetCustomerAccounts_thenStatusOkAndAccountsReturned() throws Exception {
+        when(accountService.getAccountsByCustomerId(1234567L)).thenReturn(List.of(
+                new AccountDTO(1234567001L, 1234567L, new BigDecimal("100.00"), "ACTIVE", "SAVINGS", 0L),
+                new AccountDTO(1234567002L, 1234567L, new BigDecimal("250.50"), "ACTIVE", "SALARY", 3L)));
+
+        mockMvc.perform(get("/customers/1234567/accounts"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(1234567001L))
+                .andExpect(jsonPath("$[1].balance").value(250.5))
+                .andExpect(jsonPath("$[1].type").value("SALARY"))
+                .andExpect(jsonPath("$[1].version").doesNotExist());
+    }
+
+    @Test
+    void whenGetCustomerAccountsWithMatchingETag_thenStatusNotModified() throws Exception {
+        when(accountService.getAccountsByCustomerId(1234567L)).thenReturn(List.of(
+                new AccountDTO(1234567001L, 1234567L, new BigDecimal("100.00"), "ACTIVE", "SAVINGS", 0L)));
+
+        String etag = mockMvc.perform(get("/customers/1234567/accounts"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/customers/1234567/accounts").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+}
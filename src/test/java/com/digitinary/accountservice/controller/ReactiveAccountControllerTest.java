@@ -0,0 +1,75 @@
+package com.digitinary.accountservice.controller;
+
+import com.digitinary.accountservice.exception.AccountNotFoundException;
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import com.digitinary.accountservice.service.ReactiveAccountService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReactiveAccountController.class)
+@AutoConfigureObservability(tracing = false)
+class ReactiveAccountControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReactiveAccountService reactiveAccountService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void whenGetExistingAccountById_thenStatusOkAndAccountReturned() throws Exception {
+        when(reactiveAccountService.getAccountById(1234567890L))
+                .thenReturn(Mono.just(new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS")));
+
+        MvcResult result = mockMvc.perform(get("/reactive/accounts/1234567890")).andExpect(request().asyncStarted()).andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1234567890L))
+                .andExpect(jsonPath("$.type").value("SAVINGS"));
+    }
+
+    @Test
+    void whenGetNonExistingAccountById_thenStatusNotFound() throws Exception {
+        when(reactiveAccountService.getAccountById(1234567890L)).thenReturn(Mono.error(new AccountNotFoundException(1234567890L)));
+
+        MvcResult result = mockMvc.perform(get("/reactive/accounts/1234567890")).andExpect(request().asyncStarted()).andReturn();
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void whenStreamAccounts_thenNdjsonLinesReturned() throws Exception {
+        AccountDTO account1 = new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS");
+        AccountDTO account2 = new AccountDTO(1234567891L, 1234567L, new BigDecimal("0.00"), "INACTIVE", "SALARY");
+        when(reactiveAccountService.streamAllAccounts()).thenReturn(Flux.just(account1, account2));
+
+        MvcResult result = mockMvc.perform(get("/reactive/accounts/stream").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted()).andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(account1) + "\n"
+                        + objectMapper.writeValueAsString(account2) + "\n"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.digitinary.accountservice.event.config;
+
+import com.digitinary.accountservice.event.model.CustomerEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerEventBinaryConverterTest {
+
+    private final MessageConverter converter = new RabbitMQConfig().messageConverter();
+
+    private final CustomerEvent event = new CustomerEvent(1234567L, "John Doe", "123456789", "Individual", "123 Main St");
+
+    @Test
+    void binaryMessage_shouldDecodeCustomerIdOnly() {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(CustomerEventBinaryConverter.CONTENT_TYPE);
+
+        Message message = converter.toMessage(event, properties);
+        CustomerEvent decoded = (CustomerEvent) converter.fromMessage(message);
+
+        assertEquals(CustomerEventBinaryConverter.CONTENT_TYPE, message.getMessageProperties().getContentType());
+        assertEquals(1234567L, decoded.getCustomerId());
+        assertNull(decoded.getName());
+    }
+
+    @Test
+    void binaryMessage_shouldBeSmallerThanJson() {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(CustomerEventBinaryConverter.CONTENT_TYPE);
+
+        int binaryLength = converter.toMessage(event, properties).getBody().length;
+        int jsonLength = converter.toMessage(event, new MessageProperties()).getBody().length;
+
+        assertEquals(1 + 8 + 4 + "John Doe123456789Individual123 Main St".length(), binaryLength);
+        assertTrue(binaryLength * 2 < jsonLength);
+    }
+
+    @Test
+    void jsonMessage_shouldStillBeDecodedInFull() {
+        Message message = converter.toMessage(event, new MessageProperties());
+
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, message.getMessageProperties().getContentType());
+        assertEquals(event, converter.fromMessage(message));
+    }
+
+    @Test
+    void unknownFormatVersion_shouldBeRejected() {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(CustomerEventBinaryConverter.CONTENT_TYPE);
+
+        Message message = new Message(new byte[]{9, 0, 0, 0, 0, 0, 0, 0, 1}, properties);
+
+        assertThrows(MessageConversionException.class, () -> converter.fromMessage(message));
+    }
+}
@@ -0,0 +1,52 @@
+package com.digitinary.accountservice.event.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class RetryingMessageRecovererTest {
+
+    private AmqpTemplate amqpTemplate;
+    private RetryingMessageRecoverer recoverer;
+
+    @BeforeEach
+    void setUp() {
+        amqpTemplate = mock(AmqpTemplate.class);
+        recoverer = new RetryingMessageRecoverer(amqpTemplate, "customer.dlx", 3);
+    }
+
+    @Test
+    void recover_firstFailure_shouldScheduleRetry() {
+        Message message = message(null);
+
+        recoverer.recover(message, new IllegalStateException("boom"));
+
+        verify(amqpTemplate).send("customer.dlx", "customer.created.retry", message);
+        assertEquals(1, message.getMessageProperties().<Integer>getHeader(RetryingMessageRecoverer.RETRY_COUNT_HEADER));
+        assertEquals("boom", message.getMessageProperties().getHeader(RetryingMessageRecoverer.EXCEPTION_MESSAGE_HEADER));
+    }
+
+    @Test
+    void recover_lastAttempt_shouldParkMessage() {
+        Message message = message(2);
+
+        recoverer.recover(message, new IllegalStateException("boom"));
+
+        verify(amqpTemplate).send("customer.dlx", "customer.created.dlq", message);
+        verifyNoMoreInteractions(amqpTemplate);
+    }
+
+    private Message message(Integer retries) {
+        MessageProperties properties = new MessageProperties();
+        properties.setConsumerQueue("customer.created");
+        if (retries != null) {
+            properties.setHeader(RetryingMessageRecoverer.RETRY_COUNT_HEADER, retries);
+        }
+        return new Message("{}".getBytes(), properties);
+    }
+}
@@ -0,0 +1,71 @@
+package com.digitinary.accountservice.event.handler;
+
+import com.digitinary.accountservice.event.model.CustomerEvent;
+import com.digitinary.accountservice.service.AccountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.*;
+
+class CustomerEventBatchHandlerTest {
+
+    private final Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+
+    private AccountService accountService;
+    private MessageRecoverer messageRecoverer;
+    private CustomerEventBatchHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        accountService = mock(AccountService.class);
+        messageRecoverer = mock(MessageRecoverer.class);
+        handler = new CustomerEventBatchHandler(accountService, converter, messageRecoverer);
+    }
+
+    @Test
+    void handleCustomersCreated_shouldWriteWholeBatchAtOnce() {
+        handler.handleCustomersCreated(List.of(message(1234567L), message(1234568L)));
+
+        verify(accountService, times(1)).createDefaultAccounts(List.of(1234567L, 1234568L));
+        verify(accountService, never()).createDefaultAccount(anyLong());
+        verifyNoInteractions(messageRecoverer);
+    }
+
+    @Test
+    void handleCustomersCreated_failedBatch_shouldRetryEachEventOnItsOwn() {
+        doThrow(new IllegalStateException("batch failed")).when(accountService).createDefaultAccounts(anyList());
+        doThrow(new IllegalStateException("poison")).when(accountService).createDefaultAccount(1234567L);
+
+        Message poison = message(1234567L);
+        handler.handleCustomersCreated(List.of(poison, message(1234568L)));
+
+        verify(accountService, times(1)).createDefaultAccount(1234567L);
+        verify(accountService, times(1)).createDefaultAccount(1234568L);
+        verify(messageRecoverer, times(1)).recover(same(poison), any());
+        verifyNoMoreInteractions(messageRecoverer);
+    }
+
+    @Test
+    void handleCustomersDeleted_unreadableMessage_shouldBeRecoveredAndRestProcessed() {
+        Message unreadable = new Message("not json".getBytes(), new MessageProperties());
+
+        handler.handleCustomersDeleted(List.of(unreadable, message(1234568L)));
+
+        verify(accountService, times(1)).deleteAllByCustomerIds(List.of(1234568L));
+        verify(messageRecoverer, times(1)).recover(same(unreadable), any());
+    }
+
+    private Message message(Long customerId) {
+        return converter.toMessage(new CustomerEvent(customerId, "John Doe", "123456789", "Individual", "123 Main St"),
+                new MessageProperties());
+    }
+}
@@ -0,0 +1,76 @@
+package com.digitinary.accountservice.event.publisher;
+
+import com.digitinary.accountservice.entity.OutboxEvent;
+import com.digitinary.accountservice.event.model.AccountEventType;
+import com.digitinary.accountservice.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AccountEventPublisherTest {
+
+    private OutboxEventRepository outboxEventRepository;
+    private RabbitOperations operations;
+    private AccountEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        operations = mock(RabbitOperations.class);
+        RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operations));
+        publisher = new AccountEventPublisher(outboxEventRepository, rabbitTemplate, "account.direct.exchange", 2, 1000);
+    }
+
+    @Test
+    void publishBatch_shouldSendConfirmAndDeleteEvents() {
+        List<OutboxEvent> events = List.of(
+                new OutboxEvent(1L, AccountEventType.CREATED, 1234567001L, "{}", Instant.now()),
+                new OutboxEvent(2L, AccountEventType.DELETED, 1234567001L, "{}", Instant.now()));
+        when(outboxEventRepository.findByOrderByIdAsc(Limit.of(2))).thenReturn(events);
+
+        assertEquals(2, publisher.publishBatch());
+
+        ArgumentCaptor<Message> messages = ArgumentCaptor.forClass(Message.class);
+        verify(operations).send(eq("account.direct.exchange"), eq("account.created"), messages.capture());
+        verify(operations).send(eq("account.direct.exchange"), eq("account.deleted"), messages.capture());
+        assertEquals("1", messages.getAllValues().get(0).getMessageProperties().getMessageId());
+        verify(operations).waitForConfirmsOrDie(1000);
+        verify(outboxEventRepository).deleteAllInBatch(events);
+    }
+
+    @Test
+    void publishBatch_unconfirmed_shouldKeepEvents() {
+        when(outboxEventRepository.findByOrderByIdAsc(Limit.of(2))).thenReturn(List.of(
+                new OutboxEvent(1L, AccountEventType.CREATED, 1234567001L, "{}", Instant.now())));
+        doThrow(new AmqpTimeoutException("no confirm")).when(operations).waitForConfirmsOrDie(anyLong());
+
+        assertThrows(AmqpTimeoutException.class, () -> publisher.publishBatch());
+
+        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    void publishBatch_emptyOutbox_shouldNotTouchBroker() {
+        when(outboxEventRepository.findByOrderByIdAsc(Limit.of(2))).thenReturn(List.of());
+
+        assertEquals(0, publisher.publishBatch());
+
+        verifyNoInteractions(operations);
+    }
+}
@@ -1,6 +1,9 @@
 package com.digitinary.accountservice.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -8,22 +11,47 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class AccountExceptionHandlerTest {
 
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @Test
     void handleAccountNotFoundException() {
         Long accountId = 1234567890L;
-        AccountExceptionHandler exceptionHandler = new AccountExceptionHandler();
+        AccountExceptionHandler exceptionHandler = new AccountExceptionHandler(meterRegistry);
         AccountNotFoundException exception = new AccountNotFoundException(accountId);
 
         ResponseEntity<Object> response = exceptionHandler.handleAccountNotFoundException(exception);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertEquals("Account not found for this id :: " + accountId, response.getBody());
+        assertEquals(1.0, meterRegistry.counter("account.exceptions", "exception", "AccountNotFoundException").count());
+    }
+
+    @Test
+    void handleAccountAlreadyExistsException() {
+        AccountExceptionHandler exceptionHandler = new AccountExceptionHandler(meterRegistry);
+
+        ResponseEntity<Object> response = exceptionHandler.handleAccountAlreadyExistsException(
+                new AccountAlreadyExistsException(1234567890L));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("Account already exists for this id :: 1234567890", response.getBody());
+    }
+
+    @Test
+    void handlePessimisticLockingFailureException() {
+        AccountExceptionHandler exceptionHandler = new AccountExceptionHandler(meterRegistry);
+
+        ResponseEntity<Object> response = exceptionHandler.handlePessimisticLockingFailureException(
+                new CannotAcquireLockException("Deadlock found when trying to get lock"));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("Account was modified concurrently, please retry.", response.getBody());
     }
 
     @Test
     void handleGlobalException() {
         
-        AccountExceptionHandler exceptionHandler = new AccountExceptionHandler();
+        AccountExceptionHandler exceptionHandler = new AccountExceptionHandler(meterRegistry);
         Exception exception = new Exception("Internal server error");
 
         ResponseEntity<Object> response = exceptionHandler.handleGlobalException(exception);
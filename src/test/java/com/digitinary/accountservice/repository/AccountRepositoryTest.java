@@ -2,13 +2,20 @@ package com.digitinary.accountservice.repository;
 
 import com.digitinary.accountservice.entity.Account;
 import com.digitinary.accountservice.model.AccountType;
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
 @DataJpaTest
 @ActiveProfiles("test")
 class AccountRepositoryTest {
@@ -25,7 +32,7 @@ class AccountRepositoryTest {
         Account account = new Account();
         account.setId(1234567890L);
         account.setCustomerId(1234567L);
-        account.setBalance(1000.0);
+        account.setBalanceMinor(100000L);
         account.setStatus("ACTIVE");
         account.setType(AccountType.INVESTMENT);
 
@@ -33,7 +40,7 @@ class AccountRepositoryTest {
 
         Assertions.assertNotNull(savedAccount.getId());
         Assertions.assertEquals(account.getCustomerId(), savedAccount.getCustomerId());
-        Assertions.assertEquals(account.getBalance(), savedAccount.getBalance());
+        Assertions.assertEquals(account.getBalanceMinor(), savedAccount.getBalanceMinor());
         Assertions.assertEquals(account.getStatus(), savedAccount.getStatus());
     }
 
@@ -43,7 +50,7 @@ class AccountRepositoryTest {
         Account account = new Account();
         account.setId(1234567890L);
         account.setCustomerId(1234567L);
-        account.setBalance(1000.0);
+        account.setBalanceMinor(100000L);
         account.setStatus("ACTIVE");
         account.setType(AccountType.INVESTMENT);
 
@@ -54,8 +61,50 @@ class AccountRepositoryTest {
         Assertions.assertNotNull(foundAccount);
         Assertions.assertEquals(savedAccount.getId(), foundAccount.getId());
         Assertions.assertEquals(savedAccount.getCustomerId(), foundAccount.getCustomerId());
-        Assertions.assertEquals(savedAccount.getBalance(), foundAccount.getBalance());
+        Assertions.assertEquals(savedAccount.getBalanceMinor(), foundAccount.getBalanceMinor());
         Assertions.assertEquals(savedAccount.getStatus(), foundAccount.getStatus());
     }
 
-}
\ No newline at end of file
+    @Test
+    void testFindByIdGreaterThanReturnsNextKeysetPage() {
+
+        for (long suffix = 1; suffix <= 5; suffix++) {
+            entityManager.persist(new Account(1234567000L + suffix, 1234567L, 10000L, "ACTIVE", AccountType.SAVINGS));
+        }
+        entityManager.flush();
+
+        List<Account> page = accountRepository.findByIdGreaterThanOrderByIdAsc(1234567002L, Limit.of(2));
+
+        Assertions.assertEquals(List.of(1234567003L, 1234567004L), page.stream().map(Account::getId).toList());
+    }
+
+    @Test
+    void testStreamAllReturnsAccountsOrderedById() {
+
+        entityManager.persist(new Account(1234567002L, 1234567L, 10000L, "ACTIVE", AccountType.SAVINGS));
+        entityManager.persist(new Account(1234567001L, 1234567L, 10000L, "ACTIVE", AccountType.SAVINGS));
+        entityManager.flush();
+
+        try (Stream<Account> accounts = accountRepository.streamAll()) {
+            Assertions.assertEquals(List.of(1234567001L, 1234567002L), accounts.map(Account::getId).toList());
+        }
+    }
+
+    @Test
+    void testFindDTOsByCustomerIdProjectsOnlyThatCustomersAccountsOrderedById() {
+
+        entityManager.persist(new Account(1234567002L, 1234567L, 150050L, "ACTIVE", AccountType.SALARY));
+        entityManager.persist(new Account(1234567001L, 1234567L, 10000L, "INACTIVE", AccountType.SAVINGS));
+        entityManager.persist(new Account(1234568001L, 1234568L, 10000L, "ACTIVE", AccountType.SAVINGS));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<AccountDTO> accounts = accountRepository.findDTOsByCustomerId(1234567L);
+
+        Assertions.assertEquals(List.of(
+                new AccountDTO(1234567001L, 1234567L, new BigDecimal("100.00"), "INACTIVE", "SAVINGS", 0L),
+                new AccountDTO(1234567002L, 1234567L, new BigDecimal("1500.50"), "ACTIVE", "SALARY", 0L)), accounts);
+        Assertions.assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+        Assertions.assertTrue(accountRepository.findDTOsByCustomerId(1234569L).isEmpty());
+    }
+}
@@ -0,0 +1,116 @@
+package com.digitinary.accountservice.repository;
+
+import com.digitinary.accountservice.entity.Account;
+import com.digitinary.accountservice.model.AccountType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the JDBC statements behind the account write paths. Before accounts carried a version, saving a
+ * new account merged it and cost a SELECT plus the INSERT; it is now a single INSERT. Deleting a customer's
+ * accounts used to load them and issue one DELETE each; it is now a single bulk DELETE.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class AccountWriteRoundTripTest {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void saveNewAccount_shouldIssueSingleInsert() {
+        accountRepository.save(new Account(1234567890L, 1234567L, 100000L, "ACTIVE", AccountType.SAVINGS));
+        entityManager.flush();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void saveNewAccounts_shouldIssueOnlyInserts() {
+        for (long suffix = 100; suffix < 110; suffix++) {
+            accountRepository.save(new Account(1234567000L + suffix, 1234567L, 0L, "INACTIVE", AccountType.SAVINGS));
+        }
+        entityManager.flush();
+
+        assertEquals(10, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void updateManagedAccount_shouldIssueSingleVersionedUpdate() {
+        entityManager.persistAndFlush(new Account(1234567890L, 1234567L, 100000L, "ACTIVE", AccountType.SAVINGS));
+        Account account = accountRepository.findById(1234567890L).orElseThrow();
+        statistics.clear();
+
+        account.setBalanceMinor(50000L);
+        accountRepository.save(account);
+        entityManager.flush();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(1L, account.getVersion());
+    }
+
+    @Test
+    void applyBalanceDelta_shouldIssueSingleConditionalUpdate() {
+        entityManager.persistAndFlush(new Account(1234567890L, 1234567L, 1000L, "ACTIVE", AccountType.SAVINGS));
+        entityManager.clear();
+        statistics.clear();
+
+        assertEquals(1, accountRepository.applyBalanceDelta(1234567890L, -1000L));
+        assertEquals(0, accountRepository.applyBalanceDelta(1234567890L, -1L));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void deleteAllByIdIn_shouldIssueSingleBulkDelete() {
+        for (long suffix = 100; suffix < 105; suffix++) {
+            entityManager.persist(new Account(1234567000L + suffix, 1234567L, 0L, "INACTIVE", AccountType.SAVINGS));
+            entityManager.persist(new Account(1234568000L + suffix, 1234568L, 0L, "INACTIVE", AccountType.SAVINGS));
+        }
+        entityManager.persist(new Account(1234569100L, 1234569L, 0L, "INACTIVE", AccountType.SAVINGS));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<Long> ids = accountRepository.findOwnersWithLockByCustomerIdIn(List.of(1234567L, 1234568L)).stream()
+                .map(AccountRepository.AccountOwner::getId).toList();
+        statistics.clear();
+
+        int deleted = accountRepository.deleteAllByIdIn(ids);
+
+        assertEquals(10, deleted);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1, accountRepository.count());
+    }
+}
@@ -0,0 +1,49 @@
+package com.digitinary.accountservice.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Loads db/schema-mysql.sql into H2 in MySQL mode and lets Hibernate validate the mappings against it with the
+ * MySQL dialect, as the prod profile does at startup. The context fails to start if an entity no longer
+ * matches the script.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:schema;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:db/schema-mysql.sql",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect"
+})
+class SchemaValidationTest {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void mappingsMatchSchemaScript() {
+        assertNotNull(accountRepository.findDTOsByCustomerId(1234567L));
+    }
+
+    @Test
+    void accountInsertedWithoutVersion_shouldStartAtVersionZero() {
+        jdbcTemplate.update("insert into account (id, customer_id, balance_minor, status, type) " +
+                "values (1234567890, 1234567, 0, 'ACTIVE', 'SAVINGS')");
+
+        assertEquals(0L, accountRepository.findById(1234567890L).orElseThrow().getVersion());
+    }
+}
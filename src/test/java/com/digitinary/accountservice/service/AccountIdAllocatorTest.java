@@ -0,0 +1,136 @@
+package com.digitinary.accountservice.service;
+
+import com.digitinary.accountservice.exception.MaxAccountsReachedException;
+import com.digitinary.accountservice.repository.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AccountIdAllocatorTest {
+
+    private AccountRepository accountRepository;
+    private AccountIdAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = mock(AccountRepository.class);
+        allocator = new AccountIdAllocator(accountRepository, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void allocate_shouldPrefixCustomerIdWithThreeDigitSuffix() {
+        when(accountRepository.findIdsByCustomerId(1234567L)).thenReturn(List.of());
+
+        long id = allocator.allocate(1234567L);
+
+        assertEquals(1234567L, id / 1000);
+        assertTrue(id % 1000 >= 100);
+    }
+
+    @Test
+    void allocate_shouldNeverReturnAnExistingOrPreviouslyAllocatedId() {
+        List<Long> existing = LongStream.range(1234567100L, 1234567990L).boxed().toList();
+        when(accountRepository.findIdsByCustomerId(1234567L)).thenReturn(existing);
+
+        Set<Long> allocated = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            allocated.add(allocator.allocate(1234567L));
+        }
+
+        assertEquals(LongStream.range(1234567990L, 1234568000L).boxed().collect(Collectors.toSet()), allocated);
+        assertThrows(MaxAccountsReachedException.class, () -> allocator.allocate(1234567L));
+        verify(accountRepository, times(1)).findIdsByCustomerId(1234567L);
+    }
+
+    @Test
+    void release_shouldMakeSuffixAvailableAgain() {
+        List<Long> existing = LongStream.range(1234567100L, 1234568000L).boxed().toList();
+        when(accountRepository.findIdsByCustomerId(1234567L)).thenReturn(existing);
+        assertThrows(MaxAccountsReachedException.class, () -> allocator.allocate(1234567L));
+
+        allocator.release(1234567555L);
+
+        assertEquals(1234567555L, allocator.allocate(1234567L));
+    }
+
+    @Test
+    void forget_shouldReseedFromRepository() {
+        when(accountRepository.findIdsByCustomerId(1234567L)).thenReturn(List.of());
+        allocator.allocate(1234567L);
+
+        allocator.forget(List.of(1234567L));
+        allocator.allocate(1234567L);
+
+        verify(accountRepository, times(2)).findIdsByCustomerId(1234567L);
+    }
+
+    @Test
+    void allocate_rolledBackTransaction_shouldMakeSuffixAvailableAgain() {
+        List<Long> existing = LongStream.range(1234567100L, 1234567999L).boxed().toList();
+        when(accountRepository.findIdsByCustomerId(1234567L)).thenReturn(existing);
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertEquals(1234567999L, allocator.allocate(1234567L));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(1234567999L, allocator.allocate(1234567L));
+    }
+
+    @Test
+    void allocate_committedTransaction_shouldKeepSuffixUsed() {
+        List<Long> existing = LongStream.range(1234567100L, 1234567999L).boxed().toList();
+        when(accountRepository.findIdsByCustomerId(1234567L)).thenReturn(existing);
+
+        TransactionSynchronizationManager.initSynchronization();
+        allocator.allocate(1234567L);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThrows(MaxAccountsReachedException.class, () -> allocator.allocate(1234567L));
+    }
+
+    @Test
+    void release_insideTransaction_shouldWaitForCommit() {
+        List<Long> existing = LongStream.range(1234567100L, 1234568000L).boxed().toList();
+        when(accountRepository.findIdsByCustomerId(1234567L)).thenReturn(existing);
+        assertThrows(MaxAccountsReachedException.class, () -> allocator.allocate(1234567L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        allocator.release(1234567555L);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThrows(MaxAccountsReachedException.class, () -> allocator.allocate(1234567L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        allocator.release(1234567555L);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(1234567555L, allocator.allocate(1234567L));
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.digitinary.accountservice.service;
+
+import com.digitinary.accountservice.cache.AccountCache;
+import com.digitinary.accountservice.entity.Account;
+import com.digitinary.accountservice.entity.OutboxEvent;
+import com.digitinary.accountservice.event.model.AccountEventType;
+import com.digitinary.accountservice.exception.AccountNotFoundException;
+import com.digitinary.accountservice.exception.InsufficientFundsException;
+import com.digitinary.accountservice.exception.InvalidAmountException;
+import com.digitinary.accountservice.model.AccountType;
+import com.digitinary.accountservice.repository.AccountRepository;
+import com.digitinary.accountservice.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({AccountService.class, CustomerAccountSummaryService.class, AccountIdAllocator.class, AccountCache.class,
+        AccountValidator.class, ProcessedEventService.class, OutboxService.class})
+class AccountServiceBalanceTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.persistAndFlush(new Account(1234567890L, 1234567L, 10000L, "ACTIVE", AccountType.SAVINGS));
+        entityManager.clear();
+    }
+
+    @Test
+    void creditAndDebit_shouldApplyDeltasAndBumpVersion() {
+        accountService.credit(1234567890L, new BigDecimal("25.50"));
+        accountService.debit(1234567890L, new BigDecimal("0.75"));
+        entityManager.clear();
+
+        Account account = accountRepository.findById(1234567890L).orElseThrow();
+        assertEquals(12475L, account.getBalanceMinor());
+        assertEquals(2L, account.getVersion());
+        assertEquals(new BigDecimal("124.75"), accountService.getAccountById(1234567890L).getBalance());
+    }
+
+    @Test
+    void debit_moreThanBalance_shouldFailAndLeaveBalanceUnchanged() {
+        assertThrows(InsufficientFundsException.class, () -> accountService.debit(1234567890L, new BigDecimal("100.01")));
+        entityManager.clear();
+
+        assertEquals(10000L, accountRepository.findById(1234567890L).orElseThrow().getBalanceMinor());
+    }
+
+    @Test
+    void credit_unknownAccount_shouldThrowNotFound() {
+        assertThrows(AccountNotFoundException.class, () -> accountService.credit(1234567999L, BigDecimal.TEN));
+    }
+
+    @Test
+    void credit_fractionalMinorUnits_shouldBeRejected() {
+        assertThrows(InvalidAmountException.class, () -> accountService.credit(1234567890L, new BigDecimal("0.005")));
+    }
+
+    @Test
+    void debit_shouldRecordSignedAmountInOutbox() {
+        accountService.debit(1234567890L, new BigDecimal("12.34"));
+        entityManager.flush();
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(1, events.size());
+        assertEquals(AccountEventType.BALANCE_CHANGED, events.get(0).getEventType());
+        assertTrue(events.get(0).getPayload().contains("\"amount\":-12.34"));
+    }
+}
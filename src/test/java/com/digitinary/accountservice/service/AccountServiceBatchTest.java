@@ -0,0 +1,133 @@
+package com.digitinary.accountservice.service;
+
+import com.digitinary.accountservice.cache.AccountCache;
+import com.digitinary.accountservice.entity.Account;
+import com.digitinary.accountservice.entity.OutboxEvent;
+import com.digitinary.accountservice.event.model.AccountEventType;
+import com.digitinary.accountservice.model.AccountType;
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import com.digitinary.accountservice.model.dto.BatchItemResultDTO;
+import com.digitinary.accountservice.repository.AccountRepository;
+import com.digitinary.accountservice.repository.CustomerAccountSummaryRepository;
+import com.digitinary.accountservice.repository.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({AccountService.class, CustomerAccountSummaryService.class, AccountIdAllocator.class, AccountCache.class,
+        AccountValidator.class, ProcessedEventService.class, OutboxService.class})
+class AccountServiceBatchTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerAccountSummaryRepository summaryRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void createAccounts_shouldInsertValidItemsAndReportFailuresPerItem() {
+        entityManager.persistAndFlush(new Account(1234567001L, 1234567L, 0L, "ACTIVE", AccountType.SALARY));
+
+        List<BatchItemResultDTO> results = accountService.createAccounts(List.of(
+                new AccountDTO(1234567002L, 1234567L, new BigDecimal("10.00"), "ACTIVE", "SAVINGS"),
+                new AccountDTO(1234567001L, 1234567L, new BigDecimal("10.00"), "ACTIVE", "SAVINGS"),
+                new AccountDTO(1234567003L, 1234567L, new BigDecimal("10.00"), "ACTIVE", "SALARY"),
+                new AccountDTO(123L, 1234567L, new BigDecimal("10.00"), "ACTIVE", "SAVINGS"),
+                new AccountDTO(1234568001L, 1234568L, new BigDecimal("10.00"), "ACTIVE", "INVESTMENT")));
+        entityManager.flush();
+
+        assertEquals(List.of(201, 409, 400, 400, 201), results.stream().map(BatchItemResultDTO::getStatus).toList());
+        assertTrue(accountRepository.existsById(1234567002L));
+        assertTrue(accountRepository.existsById(1234568001L));
+        assertFalse(accountRepository.existsById(1234567003L));
+        assertEquals(2, summaryRepository.findById(1234567L).orElseThrow().getAccountCount());
+        assertEquals(1, summaryRepository.findById(1234568L).orElseThrow().getAccountCount());
+        assertEquals(List.of(1234567002L, 1234568001L), outboxEventRepository.findAll().stream()
+                .filter(event -> event.getEventType() == AccountEventType.CREATED)
+                .map(OutboxEvent::getAccountId).sorted().toList());
+    }
+
+    @Test
+    void updateAccounts_shouldApplyValidItemsAndReportMissingOnes() {
+        entityManager.persist(new Account(1234567001L, 1234567L, 0L, "ACTIVE", AccountType.SALARY));
+        entityManager.persist(new Account(1234567002L, 1234567L, 0L, "ACTIVE", AccountType.SAVINGS));
+        entityManager.flush();
+
+        List<BatchItemResultDTO> results = accountService.updateAccounts(List.of(
+                new AccountDTO(1234567001L, 1234567L, new BigDecimal("50.00"), "INACTIVE", "SALARY"),
+                new AccountDTO(1234567002L, 1234567L, new BigDecimal("75.00"), "ACTIVE", "SALARY"),
+                new AccountDTO(1234567999L, 1234567L, new BigDecimal("75.00"), "ACTIVE", "SAVINGS")));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of(200, 400, 404), results.stream().map(BatchItemResultDTO::getStatus).toList());
+        Account updated = accountRepository.findById(1234567001L).orElseThrow();
+        assertEquals(5000L, updated.getBalanceMinor());
+        assertEquals("INACTIVE", updated.getStatus());
+        assertEquals(0L, accountRepository.findById(1234567002L).orElseThrow().getBalanceMinor());
+    }
+
+    @Test
+    void createDefaultAccounts_shouldPersistOneInactiveSavingsAccountPerCustomer() {
+        accountService.createDefaultAccounts(List.of(1234567L, 1234568L));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> ids = accountRepository.findIdsByCustomerId(1234567L);
+        assertEquals(1, ids.size());
+        assertEquals(1234567L, ids.get(0) / 1000);
+        Account account = accountRepository.findById(ids.get(0)).orElseThrow();
+        assertEquals("INACTIVE", account.getStatus());
+        assertEquals(AccountType.SAVINGS, account.getType());
+        assertEquals(1, accountRepository.findIdsByCustomerId(1234568L).size());
+    }
+
+    @Test
+    void createDefaultAccounts_redeliveredEvents_shouldNotCreateDuplicates() {
+        accountService.createDefaultAccounts(List.of(1234567L, 1234567L));
+        accountService.createDefaultAccounts(List.of(1234567L, 1234568L));
+        accountService.createDefaultAccount(1234568L);
+        entityManager.flush();
+
+        assertEquals(1, accountRepository.findIdsByCustomerId(1234567L).size());
+        assertEquals(1, accountRepository.findIdsByCustomerId(1234568L).size());
+        assertEquals(2, outboxEventRepository.count());
+    }
+
+    @Test
+    void deleteAllByCustomerIds_shouldRecordOneEventPerDeletedAccount() {
+        entityManager.persist(new Account(1234567001L, 1234567L, 0L, "ACTIVE", AccountType.SALARY));
+        entityManager.persist(new Account(1234567002L, 1234567L, 0L, "ACTIVE", AccountType.SAVINGS));
+        entityManager.persist(new Account(1234568001L, 1234568L, 0L, "ACTIVE", AccountType.SAVINGS));
+        entityManager.flush();
+
+        assertEquals(2, accountService.deleteAllByCustomerIds(List.of(1234567L)));
+        entityManager.flush();
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(List.of(1234567001L, 1234567002L), events.stream().map(OutboxEvent::getAccountId).sorted().toList());
+        assertTrue(events.stream().allMatch(event -> event.getEventType() == AccountEventType.DELETED));
+        assertTrue(events.get(0).getPayload().contains("\"customerId\":1234567"));
+        assertFalse(accountRepository.existsById(1234567001L));
+        assertTrue(accountRepository.existsById(1234568001L));
+    }
+}
@@ -1,9 +1,17 @@
 package com.digitinary.accountservice.service;
 
+import com.digitinary.accountservice.cache.AccountCache;
 import com.digitinary.accountservice.entity.Account;
+import com.digitinary.accountservice.event.model.AccountEventType;
+import com.digitinary.accountservice.event.model.CustomerEventType;
+import com.digitinary.accountservice.exception.AccountAlreadyExistsException;
 import com.digitinary.accountservice.exception.AccountNotFoundException;
+import com.digitinary.accountservice.exception.InvalidCursorException;
+import com.digitinary.accountservice.exception.MaxAccountsReachedException;
+import com.digitinary.accountservice.model.AccountCursor;
 import com.digitinary.accountservice.model.AccountType;
 import com.digitinary.accountservice.model.dto.AccountDTO;
+import com.digitinary.accountservice.model.dto.AccountPageDTO;
 import com.digitinary.accountservice.model.mapper.AccountMapper;
 import com.digitinary.accountservice.repository.AccountRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,7 +19,13 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -24,6 +38,24 @@ class AccountServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private CustomerAccountSummaryService summaryService;
+
+    @Mock
+    private AccountIdAllocator accountIdAllocator;
+
+    @Mock
+    private ProcessedEventService processedEventService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Spy
+    private AccountCache accountCache = new AccountCache(100, Duration.ofMinutes(1), Duration.ZERO);
+
+    @Spy
+    private AccountValidator accountValidator = new AccountValidator();
+
     @InjectMocks
     private AccountService accountService;
 
@@ -35,23 +67,55 @@ class AccountServiceTest {
 
     @Test
     void createAccount() {
-        AccountDTO accountDTO = new AccountDTO(1234567890L, 1234567L, 1000.0, "ACTIVE", "SAVINGS");
-        Account account = new Account(1234567890L, 1234567L, 1000.0, "ACTIVE", AccountType.SAVINGS);
+        AccountDTO accountDTO = new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS");
+        Account account = new Account(1234567890L, 1234567L, 100000L, "ACTIVE", AccountType.SAVINGS);
 
-        when(accountRepository.save(any(Account.class))).thenReturn(account);
+        when(accountRepository.saveAndFlush(any(Account.class))).thenReturn(account);
 
         AccountDTO createdAccountDTO = accountService.createAccount(accountDTO);
 
         assertNotNull(createdAccountDTO);
         assertEquals(accountDTO.getId(), createdAccountDTO.getId());
-        verify(accountRepository, times(1)).save(account);
+        verify(accountRepository, times(1)).saveAndFlush(account);
+        verify(summaryService, times(1)).reserve(1234567L, AccountType.SAVINGS);
+        verify(accountRepository, never()).countByCustomerId(any());
+        verify(accountRepository, never()).countByCustomerIdAndType(any(), any());
+    }
+
+    @Test
+    void createAccount_limitReached_shouldNotSave() {
+        AccountDTO accountDTO = new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS");
+        doThrow(new MaxAccountsReachedException("A customer can have up to 10 accounts."))
+                .when(summaryService).reserve(1234567L, AccountType.SAVINGS);
+
+        assertThrows(MaxAccountsReachedException.class, () -> accountService.createAccount(accountDTO));
+        verify(accountRepository, never()).saveAndFlush(any(Account.class));
+    }
+
+    @Test
+    void createAccount_takenId_shouldThrowAccountAlreadyExistsException() {
+        AccountDTO accountDTO = new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS");
+        when(accountRepository.saveAndFlush(any(Account.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("Unique index or primary key violation", "23505")));
+
+        assertThrows(AccountAlreadyExistsException.class, () -> accountService.createAccount(accountDTO));
+        verify(outboxService, never()).record(any(), any());
+    }
+
+    @Test
+    void createAccount_otherConstraintViolation_shouldNotBeReportedAsTakenId() {
+        AccountDTO accountDTO = new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS");
+        when(accountRepository.saveAndFlush(any(Account.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("Value too long for column", "22001")));
+
+        assertThrows(DataIntegrityViolationException.class, () -> accountService.createAccount(accountDTO));
     }
 
     @Test
     void getAccountById_existingId_shouldReturnAccountDTO() {
         Long accountId = 1234567890L;
-        Account account = new Account(1234567890L, 1234567L, 1000.0, "ACTIVE", AccountType.SAVINGS);
-        AccountDTO accountDTO = new AccountDTO(1234567890L, 1234567L, 1000.0, "ACTIVE", "SAVINGS");
+        Account account = new Account(1234567890L, 1234567L, 100000L, "ACTIVE", AccountType.SAVINGS);
+        AccountDTO accountDTO = new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS");
 
         when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
 
@@ -61,6 +125,81 @@ class AccountServiceTest {
         verify(accountRepository, times(1)).findById(accountId);
     }
 
+    @Test
+    void getAccountById_repeatedLookup_shouldBeServedFromCache() {
+        Long accountId = 1234567890L;
+        Account account = new Account(1234567890L, 1234567L, 100000L, "ACTIVE", AccountType.SAVINGS);
+
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+
+        AccountDTO first = accountService.getAccountById(accountId);
+        AccountDTO second = accountService.getAccountById(accountId);
+
+        assertEquals(first, second);
+        verify(accountRepository, times(1)).findById(accountId);
+    }
+
+    @Test
+    void updateAccount_shouldEvictCachedAccount() {
+        Long accountId = 1234567890L;
+        Account existingAccount = new Account(1234567890L, 1234567L, 100000L, "ACTIVE", AccountType.INVESTMENT);
+        accountCache.getOrLoad(accountId, () -> AccountMapper.toDTO(existingAccount));
+
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(existingAccount));
+        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        accountService.updateAccount(accountId, new AccountDTO(1234567890L, 1234567L, new BigDecimal("500.00"), "ACTIVE", "SAVINGS"));
+
+        assertNull(accountCache.get(accountId));
+    }
+
+    @Test
+    void getAccountsByCustomerId_shouldQueryOnceThenServeFromCache() {
+        List<AccountDTO> accounts = List.of(new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS", 0L));
+        when(accountRepository.findDTOsByCustomerId(1234567L)).thenReturn(accounts);
+
+        assertEquals(accounts, accountService.getAccountsByCustomerId(1234567L));
+        assertEquals(accounts, accountService.getAccountsByCustomerId(1234567L));
+
+        verify(accountRepository, times(1)).findDTOsByCustomerId(1234567L);
+        verify(accountRepository, never()).findById(any());
+    }
+
+    @Test
+    void createAccount_shouldEvictCachedCustomerAccounts() {
+        accountCache.getOrLoadCustomerAccounts(1234567L, List::of);
+        Account account = new Account(1234567890L, 1234567L, 100000L, "ACTIVE", AccountType.SAVINGS);
+        when(accountRepository.saveAndFlush(any(Account.class))).thenReturn(account);
+
+        accountService.createAccount(new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS"));
+
+        List<AccountDTO> reloaded = List.of(AccountMapper.toDTO(account));
+        assertEquals(reloaded, accountCache.getOrLoadCustomerAccounts(1234567L, () -> reloaded));
+    }
+
+    @Test
+    void deleteAllByCustomerId_shouldEvictCustomerAccounts() {
+        accountCache.getOrLoad(1234567890L,
+                () -> new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS"));
+        when(processedEventService.markProcessed(1234567L, CustomerEventType.DELETED)).thenReturn(true);
+        when(accountRepository.findOwnersWithLockByCustomerIdIn(List.of(1234567L))).thenReturn(List.of(owner(1234567890L, 1234567L)));
+        when(accountRepository.deleteAllByIdIn(List.of(1234567890L))).thenReturn(1);
+
+        assertEquals(1, accountService.deleteAllByCustomerId(1234567L));
+
+        assertNull(accountCache.get(1234567890L));
+        verify(accountRepository, times(1)).deleteAllByIdIn(List.of(1234567890L));
+    }
+
+    @Test
+    void createDefaultAccount_alreadyProcessedEvent_shouldBeNoOp() {
+        when(processedEventService.markProcessed(1234567L, CustomerEventType.CREATED)).thenReturn(false);
+
+        accountService.createDefaultAccount(1234567L);
+
+        verifyNoInteractions(accountIdAllocator, summaryService, accountRepository);
+    }
+
     @Test
     void getAccountById_nonExistingId_shouldReturnEmptyOptional() {
 
@@ -72,23 +211,61 @@ class AccountServiceTest {
     }
 
     @Test
-    void getAllAccounts() {
+    void getAccounts_emptyTable_shouldReturnEmptyPageWithoutCursor() {
 
         List<Account> accounts = new ArrayList<>();
-        when(accountRepository.findAll()).thenReturn(accounts);
+        when(accountRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(51))).thenReturn(accounts);
+
+        AccountPageDTO page = accountService.getAccounts(null, 50);
+
+        assertEquals(accounts, page.getAccounts().stream().map(AccountMapper::toEntity).toList());
+        assertNull(page.getNextCursor());
+        verify(accountRepository, times(1)).findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(51));
+    }
+
+    @Test
+    void getAccounts_moreRowsThanPageSize_shouldReturnCursorToLastIdOfPage() {
+        Account first = new Account(1234567001L, 1234567L, 1000L, "ACTIVE", AccountType.SAVINGS);
+        Account second = new Account(1234567002L, 1234567L, 2000L, "ACTIVE", AccountType.SAVINGS);
+        Account third = new Account(1234567003L, 1234567L, 3000L, "ACTIVE", AccountType.SAVINGS);
+        when(accountRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(3)))
+                .thenReturn(List.of(first, second, third));
+        when(accountRepository.findByIdGreaterThanOrderByIdAsc(1234567002L, Limit.of(3)))
+                .thenReturn(List.of(third));
+
+        AccountPageDTO firstPage = accountService.getAccounts(null, 2);
+        AccountPageDTO secondPage = accountService.getAccounts(firstPage.getNextCursor(), 2);
+
+        assertEquals(2, firstPage.getAccounts().size());
+        assertEquals(1234567002L, AccountCursor.decode(firstPage.getNextCursor()));
+        assertEquals(1, secondPage.getAccounts().size());
+        assertEquals(1234567003L, secondPage.getAccounts().get(0).getId());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void getAccounts_oversizedPage_shouldBeClampedToMaxPageSize() {
+        when(accountRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(AccountService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(new ArrayList<>());
 
-        List<AccountDTO> retrievedAccounts = accountService.getAllAccounts();
+        accountService.getAccounts(null, 100_000);
 
-        assertEquals(accounts, retrievedAccounts.stream().map(AccountMapper::toEntity).toList());
-        verify(accountRepository, times(1)).findAll();
+        verify(accountRepository, times(1))
+                .findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(AccountService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void getAccounts_malformedCursor_shouldThrowInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> accountService.getAccounts("not-a-cursor", 50));
+        verify(accountRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
     }
 
     @Test
     void updateAccount_existingId_shouldReturnUpdatedAccountDTO() {
         Long accountId = 1234567890L;
-        Account existingAccount = new Account(1234567890L, 1234567L, 1000.0, "ACTIVE", AccountType.INVESTMENT);
-        AccountDTO updatedAccountDTO = new AccountDTO(1234567890L, 1234567L, 500.0, "ACTIVE", "SAVINGS");
-        Account updatedAccount = new Account(1234567890L, 1234567L, 500.0, "ACTIVE", AccountType.SAVINGS);
+        Account existingAccount = new Account(1234567890L, 1234567L, 100000L, "ACTIVE", AccountType.INVESTMENT);
+        AccountDTO updatedAccountDTO = new AccountDTO(1234567890L, 1234567L, new BigDecimal("500.00"), "ACTIVE", "SAVINGS");
+        Account updatedAccount = new Account(1234567890L, 1234567L, 50000L, "ACTIVE", AccountType.SAVINGS);
 
         when(accountRepository.findById(accountId)).thenReturn(Optional.of(existingAccount));
         when(accountRepository.save(any(Account.class))).thenReturn(updatedAccount);
@@ -105,7 +282,7 @@ class AccountServiceTest {
     @Test
     void updateAccount_nonExistingId_shouldThrowAccountNotFoundException() {
         Long accountId = 1L;
-        AccountDTO updatedAccountDTO = new AccountDTO(1234567890L, 1234567L, 1000.0, "ACTIVE", "SAVINGS");
+        AccountDTO updatedAccountDTO = new AccountDTO(1234567890L, 1234567L, new BigDecimal("1000.00"), "ACTIVE", "SAVINGS");
 
         when(accountRepository.findById(accountId)).thenReturn(Optional.empty());
 
@@ -118,7 +295,7 @@ class AccountServiceTest {
     @Test
     void deleteAccount_existingId_shouldDeleteAccount() {
         Long accountId = 1234567890L;
-        Account account = new Account();
+        Account account = new Account(accountId, 1234567L, 0L, "ACTIVE", AccountType.SAVINGS);
 
         when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
         doNothing().when(accountRepository).delete(account);
@@ -127,6 +304,7 @@ class AccountServiceTest {
 
         verify(accountRepository, times(1)).findById(accountId);
         verify(accountRepository, times(1)).delete(account);
+        verify(outboxService, times(1)).record(AccountEventType.DELETED, account);
     }
 
 
@@ -141,4 +319,18 @@ class AccountServiceTest {
         verify(accountRepository, never()).delete(any(Account.class));
     }
 
-}
\ No newline at end of file
+
+    private static AccountRepository.AccountOwner owner(Long id, Long customerId) {
+        return new AccountRepository.AccountOwner() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getCustomerId() {
+                return customerId;
+            }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.digitinary.accountservice.service;
+
+import com.digitinary.accountservice.exception.InvalidAccountIdException;
+import com.digitinary.accountservice.exception.InvalidAccountTypeException;
+import com.digitinary.accountservice.model.AccountValidationError;
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountValidatorTest {
+
+    private final AccountValidator validator = new AccountValidator();
+
+    @Test
+    void validateAccountId_tenDigitsWithCustomerPrefix_shouldBeValid() {
+        assertNull(validator.validateAccountId(1234567890L, 1234567L));
+        assertNull(validator.validateAccountId(1234567890L, 123L));
+    }
+
+    @Test
+    void validateAccountId_wrongLength_shouldReturnLengthError() {
+        assertEquals(AccountValidationError.INVALID_ACCOUNT_ID_LENGTH, validator.validateAccountId(123456789L, 1234567L));
+        assertEquals(AccountValidationError.INVALID_ACCOUNT_ID_LENGTH, validator.validateAccountId(12345678901L, 1234567L));
+        assertEquals(AccountValidationError.INVALID_ACCOUNT_ID_LENGTH, validator.validateAccountId(-1234567890L, 1234567L));
+    }
+
+    @Test
+    void validateAccountId_customerPrefixMismatch_shouldReturnMismatchError() {
+        assertEquals(AccountValidationError.ACCOUNT_ID_CUSTOMER_MISMATCH, validator.validateAccountId(1234567890L, 7654321L));
+        assertEquals(AccountValidationError.ACCOUNT_ID_CUSTOMER_MISMATCH, validator.validateAccountId(1234567890L, 0L));
+        assertEquals(AccountValidationError.ACCOUNT_ID_CUSTOMER_MISMATCH, validator.validateAccountId(1234567890L, -1234567L));
+        assertEquals(AccountValidationError.ACCOUNT_ID_CUSTOMER_MISMATCH, validator.validateAccountId(1234567890L, 12345678901L));
+    }
+
+    @Test
+    void validateAccountId_missingIds_shouldReturnRequiredError() {
+        assertEquals(AccountValidationError.ACCOUNT_ID_REQUIRED, validator.validateAccountId(null, 1234567L));
+        assertEquals(AccountValidationError.ACCOUNT_ID_REQUIRED, validator.validateAccountId(1234567890L, null));
+    }
+
+    @Test
+    void validateAccountType_shouldAcceptOnlyExactTypeNames() {
+        assertNull(validator.validateAccountType("SAVINGS"));
+        assertEquals(AccountValidationError.INVALID_ACCOUNT_TYPE, validator.validateAccountType("savings"));
+        assertEquals(AccountValidationError.INVALID_ACCOUNT_TYPE, validator.validateAccountType("CHECKING"));
+        assertEquals(AccountValidationError.INVALID_ACCOUNT_TYPE, validator.validateAccountType(null));
+    }
+
+    @Test
+    void validateForCreate_shouldReportIdErrorBeforeTypeError() {
+        AccountDTO account = new AccountDTO(123L, 1234567L, new BigDecimal("0.00"), "ACTIVE", "CHECKING");
+
+        assertEquals(AccountValidationError.INVALID_ACCOUNT_ID_LENGTH, validator.validateForCreate(account));
+    }
+
+    @Test
+    void validateAmount_shouldAcceptOnlyPositiveAmountsInWholeMinorUnits() {
+        assertNull(validator.validateAmount(new BigDecimal("0.01")));
+        assertNull(validator.validateAmount(new BigDecimal("25.500")));
+        assertEquals(AccountValidationError.INVALID_AMOUNT, validator.validateAmount(new BigDecimal("0.001")));
+        assertEquals(AccountValidationError.INVALID_AMOUNT, validator.validateAmount(new BigDecimal("1e18")));
+        assertEquals(AccountValidationError.NON_POSITIVE_AMOUNT, validator.validateAmount(BigDecimal.ZERO));
+        assertEquals(AccountValidationError.NON_POSITIVE_AMOUNT, validator.validateAmount(new BigDecimal("-5.00")));
+        assertEquals(AccountValidationError.NON_POSITIVE_AMOUNT, validator.validateAmount(null));
+    }
+
+    @Test
+    void validateForUpdate_fractionalMinorUnitBalance_shouldReturnAmountError() {
+        AccountDTO account = new AccountDTO(1234567890L, 1234567L, new BigDecimal("10.005"), "ACTIVE", "SAVINGS");
+
+        assertEquals(AccountValidationError.INVALID_AMOUNT, validator.validateForUpdate(account));
+    }
+
+    @Test
+    void requireValid_shouldThrowMatchingStacklessException() {
+        assertDoesNotThrow(() -> validator.requireValid(null));
+        InvalidAccountIdException idException = assertThrows(InvalidAccountIdException.class,
+                () -> validator.requireValid(AccountValidationError.ACCOUNT_ID_CUSTOMER_MISMATCH));
+        assertEquals(0, idException.getStackTrace().length);
+        assertThrows(InvalidAccountTypeException.class,
+                () -> validator.requireValid(AccountValidationError.INVALID_ACCOUNT_TYPE));
+    }
+}
@@ -0,0 +1,171 @@
+package com.digitinary.accountservice.service;
+
+import com.digitinary.accountservice.entity.Account;
+import com.digitinary.accountservice.entity.CustomerAccountSummary;
+import com.digitinary.accountservice.exception.InvalidAccountTypeException;
+import com.digitinary.accountservice.exception.MaxAccountsReachedException;
+import com.digitinary.accountservice.model.AccountType;
+import com.digitinary.accountservice.repository.AccountRepository;
+import com.digitinary.accountservice.repository.CustomerAccountSummaryRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(CustomerAccountSummaryService.class)
+class CustomerAccountSummaryServiceTest {
+
+    @Autowired
+    private CustomerAccountSummaryService summaryService;
+
+    @Autowired
+    private CustomerAccountSummaryRepository summaryRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManager sharedEntityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void reserve_newCustomer_shouldInitializeSummaryFromExistingAccounts() {
+        entityManager.persist(new Account(1234567001L, 1234567L, 0L, "ACTIVE", AccountType.SALARY));
+        entityManager.persist(new Account(1234567002L, 1234567L, 0L, "ACTIVE", AccountType.SAVINGS));
+        entityManager.flush();
+
+        summaryService.reserve(1234567L, AccountType.INVESTMENT);
+        entityManager.flush();
+        entityManager.clear();
+
+        CustomerAccountSummary summary = summaryRepository.findById(1234567L).orElseThrow();
+        assertEquals(3, summary.getAccountCount());
+        assertTrue(summary.isSalaryAccount());
+    }
+
+    @Test
+    void reserve_beyondLimit_shouldThrowMaxAccountsReachedException() {
+        for (int i = 0; i < CustomerAccountSummaryService.MAX_ACCOUNTS_PER_CUSTOMER; i++) {
+            summaryService.reserve(1234567L, AccountType.SAVINGS);
+        }
+
+        assertThrows(MaxAccountsReachedException.class, () -> summaryService.reserve(1234567L, AccountType.SAVINGS));
+    }
+
+    @Test
+    void reserve_secondSalaryAccount_shouldThrowInvalidAccountTypeException() {
+        summaryService.reserve(1234567L, AccountType.SALARY);
+
+        assertThrows(InvalidAccountTypeException.class, () -> summaryService.reserve(1234567L, AccountType.SALARY));
+    }
+
+    @Test
+    void release_salaryAccount_shouldAllowAnotherSalaryAccount() {
+        summaryService.reserve(1234567L, AccountType.SALARY);
+        summaryService.release(1234567L, AccountType.SALARY);
+
+        assertDoesNotThrow(() -> summaryService.reserve(1234567L, AccountType.SALARY));
+    }
+
+    @Test
+    void changeType_toSalaryWhenSalaryExists_shouldThrowInvalidAccountTypeException() {
+        summaryService.reserve(1234567L, AccountType.SALARY);
+        summaryService.reserve(1234567L, AccountType.SAVINGS);
+
+        assertThrows(InvalidAccountTypeException.class,
+                () -> summaryService.changeType(1234567L, AccountType.SAVINGS, AccountType.SALARY));
+        assertDoesNotThrow(() -> summaryService.changeType(1234567L, AccountType.SALARY, AccountType.SALARY));
+    }
+
+    @Test
+    void lockAll_shouldLoadExistingAndCreateMissingSummaries() {
+        summaryService.reserve(1234567L, AccountType.SALARY);
+        entityManager.persist(new Account(1234568001L, 1234568L, 0L, "ACTIVE", AccountType.SAVINGS));
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<Long, CustomerAccountSummary> summaries = summaryService.lockAll(List.of(1234567L, 1234568L, 1234569L));
+
+        assertEquals(1, summaries.get(1234567L).getAccountCount());
+        assertTrue(summaries.get(1234567L).isSalaryAccount());
+        assertEquals(1, summaries.get(1234568L).getAccountCount());
+        assertEquals(0, summaries.get(1234569L).getAccountCount());
+        assertTrue(summaryRepository.existsById(1234569L));
+    }
+
+    @Test
+    void lockAll_changesToCreatedSummaries_shouldBePersisted() {
+        entityManager.persist(new Account(1234568001L, 1234568L, 0L, "ACTIVE", AccountType.SAVINGS));
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<Long, CustomerAccountSummary> summaries = summaryService.lockAll(List.of(1234568L, 1234569L));
+        summaryService.add(summaries.get(1234568L), AccountType.SALARY);
+        summaryService.add(summaries.get(1234569L), AccountType.SAVINGS);
+        entityManager.flush();
+        entityManager.clear();
+
+        CustomerAccountSummary existingCustomer = summaryRepository.findById(1234568L).orElseThrow();
+        assertEquals(2, existingCustomer.getAccountCount());
+        assertTrue(existingCustomer.isSalaryAccount());
+        assertEquals(1, summaryRepository.findById(1234569L).orElseThrow().getAccountCount());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void reserve_concurrentFirstCreates_shouldBothBeCounted() throws Exception {
+        // both creates find no summary before either of them creates it
+        CyclicBarrier bothMissed = new CyclicBarrier(2);
+        AccountRepository accounts = mock(AccountRepository.class, delegatesTo(accountRepository));
+        doAnswer(invocation -> {
+            bothMissed.await(5, TimeUnit.SECONDS);
+            return accountRepository.countByCustomerId(1234567L);
+        }).when(accounts).countByCustomerId(1234567L);
+        CustomerAccountSummaryService service =
+                new CustomerAccountSummaryService(summaryRepository, accounts, sharedEntityManager);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> creates = List.of(
+                    executor.submit(() -> transaction.executeWithoutResult(
+                            status -> service.reserve(1234567L, AccountType.SAVINGS))),
+                    executor.submit(() -> transaction.executeWithoutResult(
+                            status -> service.reserve(1234567L, AccountType.SAVINGS))));
+            for (Future<?> create : creates) {
+                create.get(10, TimeUnit.SECONDS);
+            }
+
+            assertEquals(2, summaryRepository.findById(1234567L).orElseThrow().getAccountCount());
+        } finally {
+            executor.shutdownNow();
+            transaction.executeWithoutResult(status -> summaryRepository.deleteAll());
+        }
+    }
+}
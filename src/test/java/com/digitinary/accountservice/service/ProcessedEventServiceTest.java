@@ -0,0 +1,71 @@
+package com.digitinary.accountservice.service;
+
+import com.digitinary.accountservice.entity.ProcessedEvent;
+import com.digitinary.accountservice.event.model.CustomerEventType;
+import com.digitinary.accountservice.repository.ProcessedEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ProcessedEventService.class)
+class ProcessedEventServiceTest {
+
+    @Autowired
+    private ProcessedEventService processedEventService;
+
+    @Autowired
+    private ProcessedEventRepository processedEventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void markProcessed_firstDelivery_shouldRecordEvent() {
+        assertTrue(processedEventService.markProcessed(1234567L, CustomerEventType.CREATED));
+        entityManager.flush();
+
+        assertTrue(processedEventRepository.existsById(new ProcessedEvent.Key(1234567L, CustomerEventType.CREATED)));
+    }
+
+    @Test
+    void markProcessed_redelivery_shouldReturnFalse() {
+        assertTrue(processedEventService.markProcessed(1234567L, CustomerEventType.CREATED));
+        entityManager.flush();
+
+        assertFalse(processedEventService.markProcessed(1234567L, CustomerEventType.CREATED));
+        assertTrue(processedEventService.markProcessed(1234567L, CustomerEventType.DELETED));
+    }
+
+    @Test
+    void markAllProcessed_shouldReturnOnlyNewEventsOnceEach() {
+        entityManager.persistAndFlush(new ProcessedEvent(1234567L, CustomerEventType.CREATED, Instant.now()));
+
+        List<Long> pending = processedEventService.markAllProcessed(
+                List.of(1234567L, 1234568L, 1234569L, 1234568L), CustomerEventType.CREATED);
+
+        assertEquals(List.of(1234568L, 1234569L), pending);
+        entityManager.flush();
+        assertEquals(3, processedEventRepository.count());
+    }
+
+    @Test
+    void purgeExpired_shouldDeleteRecordsOlderThanRetention() {
+        entityManager.persist(new ProcessedEvent(1234567L, CustomerEventType.CREATED, Instant.now().minus(Duration.ofDays(8))));
+        entityManager.persistAndFlush(new ProcessedEvent(1234568L, CustomerEventType.CREATED, Instant.now()));
+
+        processedEventService.purgeExpired();
+
+        assertEquals(List.of(1234568L), processedEventRepository.findAll().stream().map(ProcessedEvent::getCustomerId).toList());
+    }
+}
@@ -0,0 +1,129 @@
+package com.digitinary.accountservice.service;
+
+import com.digitinary.accountservice.cache.AccountCache;
+import com.digitinary.accountservice.entity.AccountReadModel;
+import com.digitinary.accountservice.exception.AccountNotFoundException;
+import com.digitinary.accountservice.exception.InvalidCursorException;
+import com.digitinary.accountservice.model.AccountCursor;
+import com.digitinary.accountservice.model.AccountType;
+import com.digitinary.accountservice.model.dto.AccountDTO;
+import com.digitinary.accountservice.repository.ReactiveAccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataR2dbcTest(properties = {"accounts.cache.maximum-size=100", "accounts.cache.expire-after-write=1m"})
+@ActiveProfiles("test")
+@Import({ReactiveAccountService.class, AccountCache.class})
+class ReactiveAccountServiceTest {
+
+    @Autowired
+    private ReactiveAccountService reactiveAccountService;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        // the schema is owned by Hibernate, which is not part of this slice
+        databaseClient.sql("create table account (id bigint not null, balance_minor bigint, customer_id bigint, " +
+                "status varchar(255), type varchar(255), version bigint, primary key (id))").then().block();
+        Flux.range(0, 5)
+                .concatMap(i -> databaseClient.sql("insert into account (id, balance_minor, customer_id, status, type, version) " +
+                                "values (:id, 10000, 1234567, 'ACTIVE', :type, 0)")
+                        .bind("id", 1234567100L + i)
+                        .bind("type", i == 0 ? "SALARY" : "SAVINGS")
+                        .then())
+                .blockLast();
+    }
+
+    @AfterEach
+    void tearDown() {
+        databaseClient.sql("drop table account").then().block();
+    }
+
+    @Test
+    void getAccountById_existingId_shouldMapRow() {
+        StepVerifier.create(reactiveAccountService.getAccountById(1234567100L))
+                .assertNext(account -> {
+                    assertEquals(1234567L, account.getCustomerId());
+                    assertEquals(new BigDecimal("100.00"), account.getBalance());
+                    assertEquals("SALARY", account.getType());
+                    assertEquals(0L, account.getVersion());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getAccountById_accountEvictedWhileQueryRuns_shouldNotCacheTheRow() {
+        ReactiveAccountRepository repository = mock(ReactiveAccountRepository.class);
+        Sinks.One<AccountReadModel> row = Sinks.one();
+        when(repository.findById(1234567100L)).thenReturn(row.asMono());
+        AccountCache accountCache = new AccountCache(100, Duration.ofMinutes(1), Duration.ZERO);
+        ReactiveAccountService service = new ReactiveAccountService(repository, accountCache);
+
+        StepVerifier.create(service.getAccountById(1234567100L))
+                .then(() -> {
+                    accountCache.evict(1234567100L, 1234567L);
+                    row.tryEmitValue(new AccountReadModel(1234567100L, 1234567L, 10000, "ACTIVE", AccountType.SALARY, 0L));
+                })
+                .assertNext(account -> assertEquals(0L, account.getVersion()))
+                .verifyComplete();
+        assertNull(accountCache.get(1234567100L));
+    }
+
+    @Test
+    void getAccountById_nonExistingId_shouldSignalAccountNotFoundException() {
+        StepVerifier.create(reactiveAccountService.getAccountById(9999999999L))
+                .expectError(AccountNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void getAccounts_shouldPageByCursor() {
+        StepVerifier.create(reactiveAccountService.getAccounts(null, 3))
+                .assertNext(page -> {
+                    assertEquals(3, page.getAccounts().size());
+                    assertEquals(AccountCursor.encode(1234567102L), page.getNextCursor());
+                })
+                .verifyComplete();
+
+        StepVerifier.create(reactiveAccountService.getAccounts(AccountCursor.encode(1234567102L), 3))
+                .assertNext(page -> {
+                    assertEquals(2, page.getAccounts().size());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getAccounts_malformedCursor_shouldSignalInvalidCursorException() {
+        StepVerifier.create(reactiveAccountService.getAccounts("not-a-cursor", 3))
+                .expectError(InvalidCursorException.class)
+                .verify();
+    }
+
+    @Test
+    void streamAllAccounts_shouldEmitInIdOrderOnDemand() {
+        StepVerifier.create(reactiveAccountService.streamAllAccounts().map(AccountDTO::getId), 2)
+                .expectNext(1234567100L, 1234567101L)
+                .thenRequest(3)
+                .expectNext(1234567102L, 1234567103L, 1234567104L)
+                .verifyComplete();
+    }
+}